@@ -0,0 +1,93 @@
+package com.fonfon.geohash.benchmark;
+
+import com.fonfon.geohash.GeoHashUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Column at a time encoding and decoding against a loop of single encodes, in coordinates per microsecond
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeoHashBatchBenchmark {
+
+    private static final int POINTS = 4096;
+    private static final int SIGNIFICANT_BITS = 60;
+
+    private final double[] latitudes = new double[POINTS];
+    private final double[] longitudes = new double[POINTS];
+    private final long[] hashes = new long[POINTS];
+    private final double[] latitudesOut = new double[POINTS];
+    private final double[] longitudesOut = new double[POINTS];
+    private DoubleBuffer directLatitudes;
+    private DoubleBuffer directLongitudes;
+    private LongBuffer directHashes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        directLatitudes = ByteBuffer.allocateDirect(POINTS * 8).asDoubleBuffer();
+        directLongitudes = ByteBuffer.allocateDirect(POINTS * 8).asDoubleBuffer();
+        directHashes = ByteBuffer.allocateDirect(POINTS * 8).asLongBuffer();
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = random.nextDouble() * 170 - 85;
+            longitudes[i] = random.nextDouble() * 350 - 175;
+            directLatitudes.put(i, latitudes[i]);
+            directLongitudes.put(i, longitudes[i]);
+        }
+        GeoHashUtils.encodeBatch(latitudes, longitudes, SIGNIFICANT_BITS, hashes);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public long[] encodeLoop() {
+        for (int i = 0; i < POINTS; i++) {
+            hashes[i] = GeoHashUtils.encode(latitudes[i], longitudes[i], SIGNIFICANT_BITS);
+        }
+        return hashes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public long[] encodeBatch() {
+        GeoHashUtils.encodeBatch(latitudes, longitudes, SIGNIFICANT_BITS, hashes);
+        return hashes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public LongBuffer encodeBatchDirect() {
+        directLatitudes.clear();
+        directLongitudes.clear();
+        directHashes.clear();
+        GeoHashUtils.encodeBatch(directLatitudes, directLongitudes, SIGNIFICANT_BITS, directHashes);
+        return directHashes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double[] decodeBatch() {
+        GeoHashUtils.decodeBatch(hashes, SIGNIFICANT_BITS, latitudesOut, longitudesOut);
+        return latitudesOut;
+    }
+}
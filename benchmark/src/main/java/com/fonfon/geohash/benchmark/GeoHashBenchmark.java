@@ -0,0 +1,150 @@
+package com.fonfon.geohash.benchmark;
+
+import com.fonfon.geohash.GeoHashRangeIterator;
+import com.fonfon.geohash.GeoHashUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.Charset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the core geohash paths behind the GeoHash methods, for every character precision.
+ * Run with the gc profiler (the default of the jmh task) to see the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeoHashBenchmark {
+
+    private static final int POINTS = 1024;
+    private static final int MASK = POINTS - 1;
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"})
+    public int precision;
+
+    private int significantBits;
+    private final double[] latitudes = new double[POINTS];
+    private final double[] longitudes = new double[POINTS];
+    private final String[] strings = new String[POINTS];
+    private final byte[][] asciis = new byte[POINTS][];
+    private final long[] longs = new long[POINTS];
+    private final long[] adjacent = new long[8];
+    private final long[] children = new long[32];
+    private final StringBuilder builder = new StringBuilder();
+    private final byte[] ascii = new byte[GeoHashUtils.MAX_CHARACTER_PRECISION];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        significantBits = precision * GeoHashUtils.BASE32_BITS;
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = random.nextDouble() * 170 - 85;
+            longitudes[i] = random.nextDouble() * 350 - 175;
+            longs[i] = GeoHashUtils.encode(latitudes[i], longitudes[i], significantBits);
+            strings[i] = GeoHashUtils.toBase32(longs[i], significantBits);
+            asciis[i] = strings[i].getBytes(Charset.forName("US-ASCII"));
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & MASK;
+    }
+
+    @Benchmark
+    public long encode() {
+        int i = next();
+        return GeoHashUtils.encode(latitudes[i], longitudes[i], significantBits);
+    }
+
+    @Benchmark
+    public String encodeToString() {
+        int i = next();
+        return GeoHashUtils.encodeToString(latitudes[i], longitudes[i], precision);
+    }
+
+    @Benchmark
+    public long decode() {
+        return GeoHashUtils.decode(strings[next()]);
+    }
+
+    @Benchmark
+    public long decodeAscii() {
+        byte[] ascii = asciis[next()];
+        return GeoHashUtils.decode(ascii, 0, ascii.length);
+    }
+
+    @Benchmark
+    public String toBase32() {
+        return GeoHashUtils.toBase32(longs[next()], significantBits);
+    }
+
+    @Benchmark
+    public StringBuilder appendBase32() {
+        builder.setLength(0);
+        return GeoHashUtils.appendBase32(longs[next()], significantBits, builder);
+    }
+
+    @Benchmark
+    public byte[] writeBase32() {
+        GeoHashUtils.writeBase32(longs[next()], significantBits, ascii, 0);
+        return ascii;
+    }
+
+    @Benchmark
+    public void bounds(Blackhole blackhole) {
+        long bits = longs[next()];
+        blackhole.consume(GeoHashUtils.minLatitude(bits, significantBits));
+        blackhole.consume(GeoHashUtils.maxLatitude(bits, significantBits));
+        blackhole.consume(GeoHashUtils.minLongitude(bits, significantBits));
+        blackhole.consume(GeoHashUtils.maxLongitude(bits, significantBits));
+    }
+
+    @Benchmark
+    public long[] adjacentLongs() {
+        GeoHashUtils.adjacentLongs(longs[next()], significantBits, adjacent, 0);
+        return adjacent;
+    }
+
+    @Benchmark
+    public long parent() {
+        return GeoHashUtils.parent(longs[next()], significantBits, GeoHashUtils.BASE32_BITS);
+    }
+
+    @Benchmark
+    public long[] childrenLongs() {
+        int childBits = Math.min(significantBits + GeoHashUtils.BASE32_BITS, GeoHashUtils.MAX_BIT_PRECISION);
+        GeoHashUtils.childrenLongs(longs[next()], significantBits, childBits, children, 0);
+        return children;
+    }
+
+    @Benchmark
+    public long rangeInBoundingBox() {
+        int i = next();
+        double height = GeoHashUtils.maxLatitude(longs[i], significantBits) - GeoHashUtils.minLatitude(longs[i], significantBits);
+        double width = GeoHashUtils.maxLongitude(longs[i], significantBits) - GeoHashUtils.minLongitude(longs[i], significantBits);
+        GeoHashRangeIterator cursor = GeoHashRangeIterator.inBoundingBox(latitudes[i] - height, latitudes[i] + height,
+                longitudes[i] - width, longitudes[i] + width, significantBits);
+        long sum = 0;
+        while (cursor.next()) {
+            sum += cursor.current();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,113 @@
+package com.fonfon.geohash.benchmark;
+
+import com.fonfon.geohash.BoundingBox;
+import com.fonfon.geohash.GeoHash;
+import com.fonfon.geohash.GeoHashUtils;
+import com.fonfon.geohash.TwoGeoHashBoundingBox;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocations of the {@link GeoHash} object paths of the library, for every
+ * character precision, on top of the core paths of {@link GeoHashBenchmark}.
+ * Run with the gc profiler (the default of the jmh task) to see the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeoHashObjectBenchmark {
+
+    private static final int POINTS = 1024;
+    private static final int MASK = POINTS - 1;
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"})
+    public int precision;
+
+    private final double[] latitudes = new double[POINTS];
+    private final double[] longitudes = new double[POINTS];
+    private final GeoHash[] hashes = new GeoHash[POINTS];
+    private final String[] strings = new String[POINTS];
+    private final long[] longs = new long[POINTS];
+    private final BoundingBox[] boxes = new BoundingBox[POINTS];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = random.nextDouble() * 170 - 85;
+            longitudes[i] = random.nextDouble() * 350 - 175;
+            hashes[i] = GeoHash.fromCoordinates(latitudes[i], longitudes[i], precision);
+            longs[i] = hashes[i].toLong();
+            // Not hashes[i].toString(), the hashes would cache their text
+            strings[i] = GeoHashUtils.toBase32(longs[i], precision * GeoHash.BASE32_BITS);
+            GeoHash corner = GeoHash.fromCoordinates(latitudes[i] + 0.5, longitudes[i] + 0.5, precision);
+            boxes[i] = new BoundingBox(hashes[i].getCenter(), corner.getCenter());
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & MASK;
+    }
+
+    @Benchmark
+    public GeoHash fromCoordinates() {
+        int i = next();
+        return GeoHash.fromCoordinates(latitudes[i], longitudes[i], precision);
+    }
+
+    @Benchmark
+    public GeoHash fromString() {
+        return GeoHash.fromString(strings[next()]);
+    }
+
+    /**
+     * A hash caches its text, so the text is formatted for a new hash every time, subtract
+     * {@link #fromLongValue()} for the formatting alone
+     */
+    @Benchmark
+    public String toStringBenchmark() {
+        return GeoHash.fromLongValue(longs[next()], precision * GeoHash.BASE32_BITS).toString();
+    }
+
+    @Benchmark
+    public GeoHash fromLongValue() {
+        return GeoHash.fromLongValue(longs[next()], precision * GeoHash.BASE32_BITS);
+    }
+
+    @Benchmark
+    public GeoHash[] getAdjacent() {
+        return hashes[next()].getAdjacent();
+    }
+
+    @Benchmark
+    public GeoHash[] getChildHashes() {
+        return hashes[next()].getChildHashes();
+    }
+
+    @Benchmark
+    public GeoHash getParentHash() {
+        return hashes[next()].getParentHash();
+    }
+
+    @Benchmark
+    public TwoGeoHashBoundingBox twoGeoHashBoundingBox() {
+        return TwoGeoHashBoundingBox.fromBoundingBox(boxes[next()], precision);
+    }
+}
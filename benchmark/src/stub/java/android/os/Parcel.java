@@ -0,0 +1,34 @@
+package android.os;
+
+/**
+ * Plain JVM stand-in for the Android class, only what the library uses
+ */
+public final class Parcel {
+
+    private Parcel() {
+    }
+
+    public long readLong() {
+        throw new UnsupportedOperationException();
+    }
+
+    public byte readByte() {
+        throw new UnsupportedOperationException();
+    }
+
+    public double readDouble() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void writeLong(long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void writeByte(byte value) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void writeDouble(double value) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,332 @@
+package com.fonfon.geohash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe {@link GeoHashIndex}. Writers only lock the moved item and the buckets it leaves
+ * and enters, so writes of different items in different hashes do not wait for each other.
+ * Buckets are copied on write, so searches never lock and never block writers.
+ * <p>
+ * Searches are weakly consistent: an item which is not written during a search is found
+ * exactly as the search started, an item moved during a search is found at most once, at its
+ * old or its new position, or not at all.
+ *
+ * @param <T> item type
+ */
+public final class ConcurrentGeoHashIndex<T> {
+
+    private final GeoHashGrid grid;
+    private final ConcurrentHashMap<T, Entry<T>> entries = new ConcurrentHashMap<T, Entry<T>>();
+    private final ConcurrentHashMap<Long, Bucket<T>> buckets = new ConcurrentHashMap<Long, Bucket<T>>();
+
+    public ConcurrentGeoHashIndex() {
+        this(GeoHashIndex.DEFAULT_SIGNIFICANT_BITS);
+    }
+
+    /**
+     * @param significantBits bucket count of signification bits, 0..60. Searches are fastest when
+     *                        a bucket holds a few items.
+     */
+    public ConcurrentGeoHashIndex(int significantBits) {
+        grid = new GeoHashGrid(significantBits);
+    }
+
+    /**
+     * @return bucket count of signification bits
+     */
+    public int getSignificantBits() {
+        return grid.getSignificantBits();
+    }
+
+    /**
+     * @return count of items, moment in time estimate while items are added or removed
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param item item
+     * @return item is in the index
+     */
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Add an item, an item already in the index keeps its position
+     *
+     * @param item item
+     * @param latitude item latitude
+     * @param longitude item longitude
+     * @return item was added
+     */
+    public boolean insert(T item, double latitude, double longitude) {
+        Entry<T> entry = new Entry<T>(item);
+        synchronized (entry) {
+            if (entries.putIfAbsent(item, entry) != null) {
+                return false;
+            }
+            entry.position = new Position<T>(latitude, longitude, place(entry, latitude, longitude));
+        }
+        return true;
+    }
+
+    /**
+     * Move an item. Moving to another hash adds the item to its new bucket before it leaves the
+     * old one, and switches its position between, so searches find it in one of them.
+     *
+     * @param item item
+     * @param latitude new item latitude
+     * @param longitude new item longitude
+     * @return item is in the index
+     */
+    public boolean update(T item, double latitude, double longitude) {
+        Entry<T> entry = entries.get(item);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (entry) {
+            Position<T> position = entry.position;
+            if (position == null) {
+                // Removed while waiting for the lock
+                return false;
+            }
+            if (grid.bits(latitude, longitude) == position.bucket.bits) {
+                entry.position = new Position<T>(latitude, longitude, position.bucket);
+            } else {
+                entry.position = new Position<T>(latitude, longitude, place(entry, latitude, longitude));
+                unplace(entry, position.bucket);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param item item
+     * @return item was in the index
+     */
+    public boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (entry) {
+            Position<T> position = entry.position;
+            entry.position = null;
+            unplace(entry, position.bucket);
+        }
+        return true;
+    }
+
+    /**
+     * Items within a great-circle distance of a point
+     *
+     * @param latitude point latitude
+     * @param longitude point longitude
+     * @param radiusMeters radius in meters
+     * @return items in no particular order
+     */
+    public List<T> searchRadius(final double latitude, final double longitude, final double radiusMeters) {
+        final List<T> result = new ArrayList<T>();
+        if (!(radiusMeters >= 0) || buckets.isEmpty()) {
+            return result;
+        }
+        final Set<T> found = new HashSet<T>();
+        boolean visited = grid.visitRadius(latitude, longitude, radiusMeters, buckets.size(),
+                new GeoHashGrid.CellVisitor() {
+                    @Override
+                    public void visit(long bits) {
+                        Bucket<T> bucket = buckets.get(bits);
+                        if (bucket != null) {
+                            bucket.collect(latitude, longitude, radiusMeters, found, result);
+                        }
+                    }
+                });
+        if (!visited) {
+            // Fewer buckets than hashes around the point
+            for (Bucket<T> bucket : buckets.values()) {
+                bucket.collect(latitude, longitude, radiusMeters, found, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Nearest items by great-circle distance, searched in growing rings of hashes around the point
+     *
+     * @param latitude point latitude
+     * @param longitude point longitude
+     * @param count max count of items
+     * @return items sorted by distance, nearest first
+     */
+    public List<T> searchNearest(final double latitude, final double longitude, int count) {
+        // Moment in time count of items, items added during the search may be left out
+        count = Math.min(count, entries.size());
+        if (count <= 0 || buckets.isEmpty()) {
+            return new ArrayList<T>();
+        }
+        final NearestItems<T> nearest = new NearestItems<T>(count);
+        final Set<T> found = new HashSet<T>();
+        GeoHashGrid.CellVisitor visitor = new GeoHashGrid.CellVisitor() {
+            @Override
+            public void visit(long bits) {
+                Bucket<T> bucket = buckets.get(bits);
+                if (bucket != null) {
+                    bucket.offer(latitude, longitude, found, nearest);
+                }
+            }
+        };
+        long centerRow = grid.row(latitude);
+        long centerColumn = grid.column(longitude);
+        for (long ring = 0; grid.hasRing(centerRow, ring); ring++) {
+            if (ring > 0 && grid.ringsSize(centerRow, ring) > buckets.size()) {
+                // Sparse items, walking every bucket is cheaper than the rest of the rings
+                NearestItems<T> all = new NearestItems<T>(count);
+                found.clear();
+                for (Bucket<T> bucket : buckets.values()) {
+                    bucket.offer(latitude, longitude, found, all);
+                }
+                return all.toList();
+            }
+            grid.visitRing(centerRow, centerColumn, ring, visitor);
+            if (nearest.isFull() && nearest.farthest() <= grid.outsideDistance(latitude, longitude, ring)) {
+                break;
+            }
+        }
+        return nearest.toList();
+    }
+
+    /**
+     * Add the entry to the bucket of the position, replacing a bucket being dropped
+     */
+    private Bucket<T> place(Entry<T> entry, double latitude, double longitude) {
+        long bits = grid.bits(latitude, longitude);
+        while (true) {
+            Bucket<T> bucket = buckets.get(bits);
+            if (bucket == null) {
+                Bucket<T> created = new Bucket<T>(bits);
+                bucket = buckets.putIfAbsent(bits, created);
+                if (bucket == null) {
+                    bucket = created;
+                }
+            }
+            if (bucket.add(entry)) {
+                return bucket;
+            }
+            buckets.remove(bits, bucket);
+        }
+    }
+
+    private void unplace(Entry<T> entry, Bucket<T> bucket) {
+        if (bucket.remove(entry)) {
+            buckets.remove(bucket.bits, bucket);
+        }
+    }
+
+    private static final class Entry<T> {
+
+        final T item;
+        /**
+         * Written with the entry lock held, null once removed
+         */
+        volatile Position<T> position;
+
+        Entry(T item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * Item position, replaced as a whole so searches read a consistent one
+     */
+    private static final class Position<T> {
+
+        final double latitude;
+        final double longitude;
+        final Bucket<T> bucket;
+
+        Position(double latitude, double longitude, Bucket<T> bucket) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * Items of one hash, copied on write. An emptied bucket is dropped and takes no more items.
+     */
+    private static final class Bucket<T> {
+
+        @SuppressWarnings("rawtypes")
+        private static final Entry[] EMPTY = new Entry[0];
+
+        final long bits;
+        @SuppressWarnings("unchecked")
+        volatile Entry<T>[] entries = EMPTY;
+        private boolean dropped;
+
+        Bucket(long bits) {
+            this.bits = bits;
+        }
+
+        synchronized boolean add(Entry<T> entry) {
+            if (dropped) {
+                return false;
+            }
+            Entry<T>[] current = entries;
+            Entry<T>[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = entry;
+            entries = copy;
+            return true;
+        }
+
+        /**
+         * @return bucket got empty and is dropped
+         */
+        synchronized boolean remove(Entry<T> entry) {
+            Entry<T>[] current = entries;
+            int index = 0;
+            while (current[index] != entry) {
+                index++;
+            }
+            Entry<T>[] copy = Arrays.copyOf(current, current.length - 1);
+            if (index < copy.length) {
+                copy[index] = current[current.length - 1];
+            }
+            entries = copy;
+            dropped = copy.length == 0;
+            return dropped;
+        }
+
+        /**
+         * Only entries positioned in this bucket count, an entry moving away is still in the
+         * new bucket too
+         */
+        void collect(double latitude, double longitude, double radiusMeters, Set<T> found, List<T> result) {
+            for (Entry<T> entry : entries) {
+                Position<T> position = entry.position;
+                if (position != null && position.bucket == this
+                        && GeoHashUtils.distance(latitude, longitude, position.latitude, position.longitude) <= radiusMeters
+                        && found.add(entry.item)) {
+                    result.add(entry.item);
+                }
+            }
+        }
+
+        void offer(double latitude, double longitude, Set<T> found, NearestItems<T> nearest) {
+            for (Entry<T> entry : entries) {
+                Position<T> position = entry.position;
+                if (position != null && position.bucket == this && found.add(entry.item)) {
+                    nearest.offer(GeoHashUtils.distance(latitude, longitude, position.latitude, position.longitude),
+                            entry.item);
+                }
+            }
+        }
+    }
+}
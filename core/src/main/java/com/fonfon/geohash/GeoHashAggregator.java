@@ -0,0 +1,215 @@
+package com.fonfon.geohash;
+
+import java.util.Arrays;
+
+/**
+ * Streaming counts of points per hash, at every precision from min to max characters.
+ * A point adds to its hash at every precision as it comes, the parent hashes are the point
+ * bits masked to their precision, so no level is rebuilt from another.
+ * Aggregates of several sources are combined with {@link #merge(GeoHashAggregator)}.
+ * The aggregator is not thread safe, a {@link #snapshot()} can be handed to other threads.
+ */
+public final class GeoHashAggregator {
+
+    private final int minNumberOfCharacters;
+    private final int maxNumberOfCharacters;
+    /**
+     * Counters and masks per precision, finest first
+     */
+    private final LongCountMap[] counters;
+    private final long[] masks;
+    private long total;
+
+    /**
+     * @param minNumberOfCharacters coarsest aggregated precision, 0..12
+     * @param maxNumberOfCharacters finest aggregated precision, min..12
+     */
+    public GeoHashAggregator(int minNumberOfCharacters, int maxNumberOfCharacters) {
+        GeoHashUtils.checkNumberOfCharacters(minNumberOfCharacters);
+        GeoHashUtils.checkNumberOfCharacters(maxNumberOfCharacters);
+        if (minNumberOfCharacters > maxNumberOfCharacters) {
+            throw new IllegalArgumentException("Min precision is finer than max precision.");
+        }
+        this.minNumberOfCharacters = minNumberOfCharacters;
+        this.maxNumberOfCharacters = maxNumberOfCharacters;
+        int levels = maxNumberOfCharacters - minNumberOfCharacters + 1;
+        counters = new LongCountMap[levels];
+        masks = new long[levels];
+        for (int level = 0; level < levels; level++) {
+            counters[level] = new LongCountMap();
+            masks[level] = GeoHashUtils.mask((maxNumberOfCharacters - level) * GeoHashUtils.BASE32_BITS);
+        }
+    }
+
+    private GeoHashAggregator(GeoHashAggregator other) {
+        minNumberOfCharacters = other.minNumberOfCharacters;
+        maxNumberOfCharacters = other.maxNumberOfCharacters;
+        counters = new LongCountMap[other.counters.length];
+        for (int level = 0; level < counters.length; level++) {
+            counters[level] = new LongCountMap(other.counters[level]);
+        }
+        masks = other.masks;
+        total = other.total;
+    }
+
+    /**
+     * @return coarsest aggregated precision
+     */
+    public int getMinNumberOfCharacters() {
+        return minNumberOfCharacters;
+    }
+
+    /**
+     * @return finest aggregated precision
+     */
+    public int getMaxNumberOfCharacters() {
+        return maxNumberOfCharacters;
+    }
+
+    /**
+     * @return count of added points
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @param latitude point latitude
+     * @param longitude point longitude
+     */
+    public void add(double latitude, double longitude) {
+        long bits = GeoHashUtils.encode(latitude, longitude, maxNumberOfCharacters * GeoHashUtils.BASE32_BITS);
+        addBits(bits, 1);
+    }
+
+    /**
+     * @param bits point hash bits
+     * @param significantBits count of signification bits, at least the finest precision bits
+     */
+    public void add(long bits, int significantBits) {
+        add(bits, significantBits, 1);
+    }
+
+    /**
+     * @param bits points hash bits
+     * @param significantBits count of signification bits, at least the finest precision bits
+     * @param count count of points in the hash, not negative
+     */
+    public void add(long bits, int significantBits, long count) {
+        GeoHashUtils.checkSignificantBits(significantBits);
+        if (significantBits < maxNumberOfCharacters * GeoHashUtils.BASE32_BITS) {
+            throw new IllegalArgumentException("Hash is coarser than the finest aggregated precision.");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative.");
+        }
+        if (count > 0) {
+            addBits(bits, count);
+        }
+    }
+
+    /**
+     * Add the counts of another aggregator, its finest precision rolled up to the precisions
+     * of this one
+     *
+     * @param other aggregator at least as fine as this one
+     */
+    public void merge(GeoHashAggregator other) {
+        if (other.maxNumberOfCharacters < maxNumberOfCharacters) {
+            throw new IllegalArgumentException("Merged aggregator is coarser than the finest aggregated precision.");
+        }
+        LongCountMap finest = other.counters[0];
+        if (other == this) {
+            finest = new LongCountMap(finest);
+        }
+        for (int slot = 0; slot < finest.capacity(); slot++) {
+            long count = finest.countAt(slot);
+            if (count != 0) {
+                addBits(finest.keyAt(slot), count);
+            }
+        }
+    }
+
+    /**
+     * @return independent copy of the counts
+     */
+    public GeoHashAggregator snapshot() {
+        return new GeoHashAggregator(this);
+    }
+
+    /**
+     * @param geoHash base32 geohash of an aggregated precision
+     * @return count of points in the hash
+     */
+    public long getCount(CharSequence geoHash) {
+        return getCount(GeoHashUtils.parseBits(geoHash), GeoHashUtils.parseSignificantBits(geoHash));
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits of an aggregated precision
+     * @return count of points in the hash
+     */
+    public long getCount(long bits, int significantBits) {
+        int level = level(significantBits);
+        return counters[level].get(bits & masks[level]);
+    }
+
+    /**
+     * @param significantBits count of signification bits of an aggregated precision
+     * @return count of hashes with points
+     */
+    public int size(int significantBits) {
+        return counters[level(significantBits)].size();
+    }
+
+    /**
+     * @param significantBits count of signification bits of an aggregated precision
+     * @return bits of the hashes with points, sorted as unsigned longs
+     */
+    public long[] getBits(int significantBits) {
+        LongCountMap counts = counters[level(significantBits)];
+        long[] bits = new long[counts.size()];
+        int index = 0;
+        for (int slot = 0; slot < counts.capacity(); slot++) {
+            if (counts.countAt(slot) != 0) {
+                bits[index++] = counts.keyAt(slot) ^ Long.MIN_VALUE;
+            }
+        }
+        Arrays.sort(bits);
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] ^= Long.MIN_VALUE;
+        }
+        return bits;
+    }
+
+    /**
+     * @param significantBits count of signification bits of an aggregated precision
+     * @return counts of points of the hashes in {@link #getBits(int)} order
+     */
+    public long[] getCounts(int significantBits) {
+        LongCountMap counts = counters[level(significantBits)];
+        long[] bits = getBits(significantBits);
+        long[] result = new long[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            result[i] = counts.get(bits[i]);
+        }
+        return result;
+    }
+
+    private void addBits(long bits, long count) {
+        for (int level = 0; level < counters.length; level++) {
+            counters[level].add(bits & masks[level], count);
+        }
+        total += count;
+    }
+
+    private int level(int significantBits) {
+        int numberOfCharacters = significantBits / GeoHashUtils.BASE32_BITS;
+        if (significantBits % GeoHashUtils.BASE32_BITS != 0
+                || numberOfCharacters < minNumberOfCharacters || numberOfCharacters > maxNumberOfCharacters) {
+            throw new IllegalArgumentException("Precision of " + significantBits + " bits is not aggregated.");
+        }
+        return maxNumberOfCharacters - numberOfCharacters;
+    }
+}
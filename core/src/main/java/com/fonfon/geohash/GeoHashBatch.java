@@ -0,0 +1,225 @@
+package com.fonfon.geohash;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel bulk encoding with fork-join. Hashes are the same left aligned bits as
+ * {@link GeoHashUtils#encode(double, double, int)}, so they match existing keys.
+ * On Android fork-join needs API 21.
+ */
+public final class GeoHashBatch {
+
+    /**
+     * Values per task below which a task runs alone
+     */
+    private static final int THRESHOLD = 1 << 14;
+    /**
+     * Sort tasks per pool thread, more tasks balance better, fewer tasks merge less
+     */
+    private static final int SORT_TASKS_PER_THREAD = 4;
+
+    private GeoHashBatch() {
+    }
+
+    /**
+     * Encode coordinates in the default pool
+     *
+     * @param latitudes latitudes column
+     * @param longitudes longitudes column, as long as latitudes
+     * @param significantBits count of signification bits - 64
+     * @return hash bits column
+     */
+    public static long[] encode(double[] latitudes, double[] longitudes, int significantBits) {
+        return encode(DefaultPool.INSTANCE, latitudes, longitudes, significantBits);
+    }
+
+    /**
+     * @param pool fork-join pool running the tasks
+     * @param latitudes latitudes column
+     * @param longitudes longitudes column, as long as latitudes
+     * @param significantBits count of signification bits - 64
+     * @return hash bits column
+     */
+    public static long[] encode(ForkJoinPool pool, double[] latitudes, double[] longitudes, int significantBits) {
+        checkColumns(latitudes, longitudes, significantBits);
+        long[] hashes = new long[latitudes.length];
+        pool.invoke(new EncodeTask(latitudes, longitudes, significantBits, hashes, 0, hashes.length));
+        return hashes;
+    }
+
+    /**
+     * Encode coordinates and sort the hashes in Z-order, in the default pool
+     *
+     * @param latitudes latitudes column
+     * @param longitudes longitudes column, as long as latitudes
+     * @param significantBits count of signification bits - 64
+     * @return hash bits sorted as unsigned longs
+     */
+    public static long[] encodeSorted(double[] latitudes, double[] longitudes, int significantBits) {
+        return encodeSorted(DefaultPool.INSTANCE, latitudes, longitudes, significantBits);
+    }
+
+    /**
+     * Encode coordinates and sort the hashes in Z-order. Every task sorts the hashes it just
+     * encoded, then sorted halves are merged.
+     *
+     * @param pool fork-join pool running the tasks
+     * @param latitudes latitudes column
+     * @param longitudes longitudes column, as long as latitudes
+     * @param significantBits count of signification bits - 64
+     * @return hash bits sorted as unsigned longs
+     */
+    public static long[] encodeSorted(ForkJoinPool pool, double[] latitudes, double[] longitudes,
+                                      int significantBits) {
+        checkColumns(latitudes, longitudes, significantBits);
+        long[] hashes = new long[latitudes.length];
+        long[] buffer = new long[hashes.length];
+        pool.invoke(new SortTask(null, latitudes, longitudes, significantBits, hashes, buffer, 0, hashes.length,
+                sortThreshold(pool, hashes.length)));
+        return hashes;
+    }
+
+    /**
+     * Sort hashes in Z-order in the default pool
+     *
+     * @param hashes hash bits, sorted as unsigned longs in place
+     */
+    public static void sort(long[] hashes) {
+        sort(DefaultPool.INSTANCE, hashes);
+    }
+
+    /**
+     * @param pool fork-join pool running the tasks
+     * @param hashes hash bits, sorted as unsigned longs in place
+     */
+    public static void sort(ForkJoinPool pool, long[] hashes) {
+        long[] buffer = new long[hashes.length];
+        pool.invoke(new SortTask(hashes, null, null, 0, hashes, buffer, 0, hashes.length,
+                sortThreshold(pool, hashes.length)));
+    }
+
+    private static int sortThreshold(ForkJoinPool pool, int length) {
+        return Math.max(THRESHOLD, length / (pool.getParallelism() * SORT_TASKS_PER_THREAD));
+    }
+
+    private static void checkColumns(double[] latitudes, double[] longitudes, int significantBits) {
+        GeoHashUtils.checkSignificantBits(significantBits);
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Batch columns have different lengths.");
+        }
+    }
+
+    /**
+     * Pool shared by the calls without a pool, created on first use
+     */
+    private static final class DefaultPool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool();
+    }
+
+    private static final class EncodeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final int significantBits;
+        private final long[] hashes;
+        private final int from;
+        private final int to;
+
+        EncodeTask(double[] latitudes, double[] longitudes, int significantBits, long[] hashes, int from, int to) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.significantBits = significantBits;
+            this.hashes = hashes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                GeoHashUtils.encodeBatch(latitudes, from, longitudes, from, significantBits, hashes, from, to - from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EncodeTask(latitudes, longitudes, significantBits, hashes, from, middle),
+                    new EncodeTask(latitudes, longitudes, significantBits, hashes, middle, to));
+        }
+    }
+
+    /**
+     * Merge sort of a range into target, using other as the buffer. The halves are sorted into
+     * other and merged back, so the arrays swap roles on every level. Leaves fill their range of
+     * target, either encoding it or copying it from the source, and sort it.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] source;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final int significantBits;
+        private final long[] target;
+        private final long[] other;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        SortTask(long[] source, double[] latitudes, double[] longitudes, int significantBits,
+                 long[] target, long[] other, int from, int to, int threshold) {
+            this.source = source;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.significantBits = significantBits;
+            this.target = target;
+            this.other = other;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                if (source == null) {
+                    GeoHashUtils.encodeBatch(latitudes, from, longitudes, from, significantBits, target, from, to - from);
+                } else if (source != target) {
+                    System.arraycopy(source, from, target, from, to - from);
+                }
+                sortUnsigned(target, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(source, latitudes, longitudes, significantBits, other, target, from, middle, threshold),
+                    new SortTask(source, latitudes, longitudes, significantBits, other, target, middle, to, threshold));
+            merge(other, target, from, middle, to);
+        }
+
+        private static void sortUnsigned(long[] values, int from, int to) {
+            for (int i = from; i < to; i++) {
+                values[i] ^= Long.MIN_VALUE;
+            }
+            Arrays.sort(values, from, to);
+            for (int i = from; i < to; i++) {
+                values[i] ^= Long.MIN_VALUE;
+            }
+        }
+
+        private static void merge(long[] halves, long[] target, int from, int middle, int to) {
+            int left = from;
+            int right = middle;
+            for (int i = from; i < to; i++) {
+                if (right == to || (left < middle
+                        && (halves[left] ^ Long.MIN_VALUE) <= (halves[right] ^ Long.MIN_VALUE))) {
+                    target[i] = halves[left++];
+                } else {
+                    target[i] = halves[right++];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.fonfon.geohash;
+
+import static com.fonfon.geohash.GeoHashUtils.MAX_BIT_PRECISION;
+
+/**
+ * Hash packed into one self describing long: the significant bits followed by a single on bit,
+ * the sentinel, and zeros. The sentinel position gives the precision, so ids of different
+ * precisions never collide, and ids work as single column keys.
+ * <p>
+ * Ids sort as unsigned longs in Z-order, and the descendants of a hash are exactly the ids in
+ * its [{@link #rangeMin(long)}, {@link #rangeMax(long)}] range, so a prefix query is one range scan.
+ * A hash sorts in the middle of its descendants, after the first half of them.
+ */
+public final class GeoHashCellId {
+
+    /**
+     * Max count of signification bits of an id, one bit is the sentinel
+     */
+    public static final int MAX_SIGNIFICANT_BITS = MAX_BIT_PRECISION - 1;
+
+    private GeoHashCellId() {
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits - 63
+     * @return cell id
+     */
+    public static long fromBits(long bits, int significantBits) {
+        checkSignificantBits(significantBits);
+        return (bits & GeoHashUtils.mask(significantBits)) | lowestOneBit(significantBits);
+    }
+
+    /**
+     * @param geoHash geohash text, see {@link GeoHashUtils#toBase32(long, int)}
+     * @return cell id
+     */
+    public static long fromBase32(CharSequence geoHash) {
+        return fromBits(GeoHashUtils.parseBits(geoHash), GeoHashUtils.parseSignificantBits(geoHash));
+    }
+
+    /**
+     * @param id cell id
+     * @return hash bits
+     */
+    public static long bits(long id) {
+        return id & (id - 1);
+    }
+
+    /**
+     * @param id cell id
+     * @return count of signification bits
+     */
+    public static int significantBits(long id) {
+        return MAX_SIGNIFICANT_BITS - Long.numberOfTrailingZeros(id);
+    }
+
+    /**
+     * @param id cell id
+     * @return geohash text, see {@link GeoHashUtils#toBase32(long, int)}
+     */
+    public static String toBase32(long id) {
+        return GeoHashUtils.toBase32(bits(id), significantBits(id));
+    }
+
+    /**
+     * @param id cell id, not the root
+     * @return id of the hash one bit coarser
+     */
+    public static long parent(long id) {
+        return parent(id, 1);
+    }
+
+    /**
+     * @param id cell id
+     * @param levelBits count of bits removed, at most the id bits
+     * @return id of the hash levelBits coarser
+     */
+    public static long parent(long id, int levelBits) {
+        if (levelBits < 0 || levelBits > significantBits(id)) {
+            throw new IllegalArgumentException("A parent can only be 0.." + significantBits(id) + " bits up.");
+        }
+        long lowestOneBit = Long.lowestOneBit(id) << levelBits;
+        return (id & -lowestOneBit) | lowestOneBit;
+    }
+
+    /**
+     * @param id cell id, of less than 63 bits
+     * @param position 0 for the child with the next bit off, 1 for the child with the bit on
+     * @return id of the child one bit finer
+     */
+    public static long child(long id, int position) {
+        long lowestOneBit = Long.lowestOneBit(id) >>> 1;
+        if (lowestOneBit == 0) {
+            throw new IllegalArgumentException("A cell of " + MAX_SIGNIFICANT_BITS + " bits has no children.");
+        }
+        return position == 0 ? id - lowestOneBit : id + lowestOneBit;
+    }
+
+    /**
+     * First child of a precision, the children are {@link #next(long)} steps up to
+     * {@link #childLast(long, int)}
+     *
+     * @param id cell id
+     * @param childSignificantBits children count of signification bits, id bits - 63
+     * @return id of the first child
+     */
+    public static long childBegin(long id, int childSignificantBits) {
+        checkChildSignificantBits(id, childSignificantBits);
+        return id - Long.lowestOneBit(id) + lowestOneBit(childSignificantBits);
+    }
+
+    /**
+     * Last child of a precision. It is inclusive, the id after the last children of the root
+     * would wrap around to the first one.
+     *
+     * @param id cell id
+     * @param childSignificantBits children count of signification bits, id bits - 63
+     * @return id of the last child
+     */
+    public static long childLast(long id, int childSignificantBits) {
+        checkChildSignificantBits(id, childSignificantBits);
+        return id + Long.lowestOneBit(id) - lowestOneBit(childSignificantBits);
+    }
+
+    /**
+     * @param id cell id
+     * @return id of the next hash of the same precision in Z-order
+     */
+    public static long next(long id) {
+        return id + (Long.lowestOneBit(id) << 1);
+    }
+
+    /**
+     * @param id cell id
+     * @return id of the previous hash of the same precision in Z-order
+     */
+    public static long prev(long id) {
+        return id - (Long.lowestOneBit(id) << 1);
+    }
+
+    /**
+     * @param id cell id
+     * @return smallest id of the hash and its descendants, as unsigned long
+     */
+    public static long rangeMin(long id) {
+        return id - (Long.lowestOneBit(id) - 1);
+    }
+
+    /**
+     * @param id cell id
+     * @return largest id of the hash and its descendants, as unsigned long
+     */
+    public static long rangeMax(long id) {
+        return id + (Long.lowestOneBit(id) - 1);
+    }
+
+    /**
+     * @param id cell id
+     * @param other other cell id
+     * @return other is the hash or one of its descendants
+     */
+    public static boolean contains(long id, long other) {
+        return compare(other, rangeMin(id)) >= 0 && compare(other, rangeMax(id)) <= 0;
+    }
+
+    /**
+     * @param id cell id
+     * @param other other cell id
+     * @return one of the hashes contains the other
+     */
+    public static boolean intersects(long id, long other) {
+        return compare(rangeMin(other), rangeMax(id)) <= 0 && compare(rangeMax(other), rangeMin(id)) >= 0;
+    }
+
+    /**
+     * @param id cell id
+     * @param other other cell id
+     * @return negative, zero or positive as id sorts before, with or after other
+     */
+    public static int compare(long id, long other) {
+        long key = id ^ Long.MIN_VALUE;
+        long otherKey = other ^ Long.MIN_VALUE;
+        return key < otherKey ? -1 : (key == otherKey ? 0 : 1);
+    }
+
+    private static long lowestOneBit(int significantBits) {
+        return 1L << (MAX_SIGNIFICANT_BITS - significantBits);
+    }
+
+    private static void checkSignificantBits(int significantBits) {
+        if (significantBits < 0 || significantBits > MAX_SIGNIFICANT_BITS) {
+            throw new IllegalArgumentException(
+                    "A cell id can only have 0.." + MAX_SIGNIFICANT_BITS + " significant bits.");
+        }
+    }
+
+    private static void checkChildSignificantBits(long id, int childSignificantBits) {
+        checkSignificantBits(childSignificantBits);
+        if (childSignificantBits < significantBits(id)) {
+            throw new IllegalArgumentException("Children can not be coarser than their parent.");
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.fonfon.geohash;
+
+import java.util.Arrays;
+
+import static com.fonfon.geohash.GeoHashUtils.BASE32_BITS;
+import static com.fonfon.geohash.GeoHashUtils.LATITUDE_MAX_ABS;
+import static com.fonfon.geohash.GeoHashUtils.LONGITUDE_MAX_ABS;
+import static com.fonfon.geohash.GeoHashUtils.MAX_BIT_PRECISION;
+
+/**
+ * Set of mixed precision geohashes covering an area, sorted in Z-order
+ */
+public final class GeoHashCoverage {
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(GeoHashUtils.EARTH_RADIUS_METERS);
+    /**
+     * Max precision of a coverage, the one of 12 characters
+     */
+    private static final int MAX_COVER_BITS = GeoHashUtils.MAX_CHARACTER_PRECISION * BASE32_BITS;
+
+    private final long[] bits;
+    private final byte[] significantBits;
+
+    private GeoHashCoverage(long[] bits, byte[] significantBits) {
+        this.bits = bits;
+        this.significantBits = significantBits;
+    }
+
+    /**
+     * Cover a box with as few geohashes as possible. Hashes fully inside the box are kept as large
+     * as they are, hashes crossing the box border are split down to numberOfCharacters while the
+     * count of hashes stays within maxCells. Like a hash, the box includes its minimum and
+     * excludes its maximum latitude and longitude.
+     *
+     * @param minLatitude minimum box latitude
+     * @param maxLatitude maximum box latitude
+     * @param minLongitude minimum box longitude
+     * @param maxLongitude maximum box longitude
+     * @param numberOfCharacters max characters count - 12
+     * @param maxCells max count of hashes, at least 1
+     * @return new {@link GeoHashCoverage}
+     */
+    public static GeoHashCoverage coverBoundingBox(double minLatitude, double maxLatitude,
+                                                   double minLongitude, double maxLongitude,
+                                                   int numberOfCharacters, int maxCells) {
+        GeoHashUtils.checkNumberOfCharacters(numberOfCharacters);
+        return coverBoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude,
+                numberOfCharacters * BASE32_BITS, BASE32_BITS, maxCells);
+    }
+
+    /**
+     * Cover a box with hashes of any bit precision. Hashes crossing the box border are split
+     * levelBits at a time, 1 bit splits a hash in 2 halves and gives the tightest coverage for a
+     * count of hashes, 5 bits splits it in 32 like base32 characters.
+     *
+     * @param minLatitude minimum box latitude
+     * @param maxLatitude maximum box latitude
+     * @param minLongitude minimum box longitude
+     * @param maxLongitude maximum box longitude
+     * @param maxSignificantBits max count of signification bits - 60
+     * @param levelBits count of bits per split, 1..5
+     * @param maxCells max count of hashes, at least 1
+     * @return new {@link GeoHashCoverage}
+     */
+    public static GeoHashCoverage coverBoundingBox(double minLatitude, double maxLatitude,
+                                                   double minLongitude, double maxLongitude,
+                                                   int maxSignificantBits, int levelBits, int maxCells) {
+        checkCover(maxSignificantBits, levelBits, maxCells);
+        return cover(new Box(minLatitude, maxLatitude, minLongitude, maxLongitude),
+                maxSignificantBits, levelBits, maxCells);
+    }
+
+    /**
+     * Cover the points within a great-circle distance of a center. The precision is picked from
+     * the radius: hashes crossing the circle are split until they are about a quarter of the
+     * radius high, while the count of hashes stays within maxCells. Only hashes intersecting the
+     * circle are returned.
+     *
+     * @param latitude center latitude
+     * @param longitude center longitude
+     * @param radiusMeters radius in meters
+     * @param maxCells max count of hashes, at least 1
+     * @return new {@link GeoHashCoverage}
+     */
+    public static GeoHashCoverage coverCircle(double latitude, double longitude, double radiusMeters, int maxCells) {
+        return coverCircle(latitude, longitude, radiusMeters, BASE32_BITS, maxCells);
+    }
+
+    /**
+     * Cover a circle with hashes split levelBits at a time, see
+     * {@link #coverBoundingBox(double, double, double, double, int, int, int)}. The precision is
+     * picked from the radius among the multiples of levelBits.
+     *
+     * @param latitude center latitude
+     * @param longitude center longitude
+     * @param radiusMeters radius in meters
+     * @param levelBits count of bits per split, 1..5
+     * @param maxCells max count of hashes, at least 1
+     * @return new {@link GeoHashCoverage}
+     */
+    public static GeoHashCoverage coverCircle(double latitude, double longitude, double radiusMeters,
+                                              int levelBits, int maxCells) {
+        checkCover(0, levelBits, maxCells);
+        if (!(radiusMeters >= 0)) {
+            throw new IllegalArgumentException("A radius can not be negative.");
+        }
+        int maxBits = levelBits;
+        while (maxBits + levelBits <= MAX_COVER_BITS
+                && GeoHashUtils.latitudeSize(maxBits + levelBits) * METERS_PER_DEGREE >= radiusMeters / 4) {
+            maxBits += levelBits;
+        }
+        return cover(new Circle(latitude, longitude, radiusMeters), maxBits, levelBits, maxCells);
+    }
+
+    static void checkCover(int maxSignificantBits, int levelBits, int maxCells) {
+        if (maxSignificantBits < 0 || maxSignificantBits > MAX_COVER_BITS) {
+            throw new IllegalArgumentException("A coverage can only have 0.." + MAX_COVER_BITS + " significant bits.");
+        }
+        if (levelBits < 1 || levelBits > BASE32_BITS) {
+            throw new IllegalArgumentException("A coverage can only split 1.." + BASE32_BITS + " bits at a time.");
+        }
+        if (maxCells < 1) {
+            throw new IllegalArgumentException("A coverage needs at least one cell.");
+        }
+    }
+
+    private static GeoHashCoverage cover(Region region, int maxBits, int levelBits, int maxCells) {
+        LongList inside = new LongList();
+        LongList boundary = new LongList();
+        cover(region, maxBits, levelBits, maxCells, inside, boundary);
+        for (int i = 0; i < boundary.size(); i++) {
+            inside.add(boundary.get(i));
+        }
+        return fromCellIds(inside.toArray());
+    }
+
+    /**
+     * Refine hashes crossing the region border, coarsest first, while the count of hashes stays
+     * within maxCells. Collects cell ids of hashes inside the region and of hashes left crossing
+     * its border. Hashes are split levelBits at a time, the last split stops at maxBits.
+     */
+    static void cover(Region region, int maxBits, int levelBits, int maxCells, LongList inside, LongList boundary) {
+        int[] childClasses = new int[1 << levelBits];
+        long[] children = new long[1 << levelBits];
+        LongList current = new LongList();
+        LongList next = new LongList();
+        int rootClass = region.classify(0, 0);
+        if (rootClass == Region.INSIDE) {
+            inside.add(GeoHashCellId.fromBits(0, 0));
+        } else if (rootClass == Region.BOUNDARY) {
+            current.add(0);
+        }
+
+        int childLevel;
+        for (int level = 0; !current.isEmpty(); level = childLevel) {
+            childLevel = Math.min(level + levelBits, maxBits);
+            int childrenCount = 1 << (childLevel - level);
+            for (int i = 0; i < current.size(); i++) {
+                long cell = current.get(i);
+                int intersecting = 0;
+                if (level < maxBits) {
+                    GeoHashUtils.childrenLongs(cell, level, childLevel, children, 0);
+                    for (int child = 0; child < childrenCount; child++) {
+                        childClasses[child] = region.classify(children[child], childLevel);
+                        if (childClasses[child] != Region.OUTSIDE) {
+                            intersecting++;
+                        }
+                    }
+                }
+                int expanded = inside.size() + boundary.size() + (current.size() - i - 1) + next.size() + intersecting;
+                if (intersecting == 0 || expanded > maxCells) {
+                    boundary.add(GeoHashCellId.fromBits(cell, level));
+                    continue;
+                }
+                for (int child = 0; child < childrenCount; child++) {
+                    if (childClasses[child] == Region.INSIDE) {
+                        inside.add(GeoHashCellId.fromBits(children[child], childLevel));
+                    } else if (childClasses[child] == Region.BOUNDARY) {
+                        next.add(children[child]);
+                    }
+                }
+            }
+            LongList processed = current;
+            current = next;
+            next = processed;
+            next.clear();
+        }
+    }
+
+    /**
+     * @return count of hashes
+     */
+    public int size() {
+        return bits.length;
+    }
+
+    /**
+     * @param index hash index
+     * @return hash bits
+     */
+    public long getBits(int index) {
+        return bits[index];
+    }
+
+    /**
+     * @param index hash index
+     * @return hash count of signification bits
+     */
+    public int getSignificantBits(int index) {
+        return significantBits[index];
+    }
+
+    /**
+     * Merge the hashes into ranges of hash ords at one precision, the ord being the right aligned
+     * hash bits. Ranges are sorted, do not touch each other and are returned as
+     * {start0, end0, start1, end1, ...} with start inclusive and end exclusive.
+     *
+     * @param significantBits count of signification bits of the ords, not less than any hash
+     *                        in the coverage and at most 62
+     * @return flat array of [start, end) pairs
+     */
+    public long[] toRanges(int significantBits) {
+        return toRanges(bits, this.significantBits, significantBits);
+    }
+
+    static long[] toRanges(long[] bits, byte[] cellSignificantBits, int significantBits) {
+        if (significantBits > MAX_BIT_PRECISION - 2) {
+            throw new IllegalArgumentException(
+                    "Ranges can only have up to " + (MAX_BIT_PRECISION - 2) + " significant bits.");
+        }
+        LongList ranges = new LongList();
+        for (int i = 0; i < bits.length; i++) {
+            int cellBits = cellSignificantBits[i];
+            if (cellBits > significantBits) {
+                throw new IllegalArgumentException("Coverage has hashes with more significant bits.");
+            }
+            long start = significantBits == 0 ? 0 : bits[i] >>> (MAX_BIT_PRECISION - significantBits);
+            long end = start + (1L << (significantBits - cellBits));
+            int last = ranges.size() - 1;
+            if (last > 0 && ranges.get(last) == start) {
+                ranges.set(last, end);
+            } else {
+                ranges.add(start);
+                ranges.add(end);
+            }
+        }
+        return ranges.toArray();
+    }
+
+    /**
+     * @param latitude point latitude
+     * @param longitude point longitude
+     * @return index of the hash containing the point or -1
+     */
+    public int indexOf(double latitude, double longitude) {
+        long point = GeoHashUtils.encode(latitude, longitude, MAX_BIT_PRECISION) ^ Long.MIN_VALUE;
+        int low = 0;
+        int high = bits.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if ((bits[middle] ^ Long.MIN_VALUE) <= point) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high >= 0 && ((point ^ Long.MIN_VALUE) & GeoHashUtils.mask(significantBits[high])) == bits[high]) {
+            return high;
+        }
+        return -1;
+    }
+
+    /**
+     * @param latitude point latitude
+     * @param longitude point longitude
+     * @return point is in one of the hashes
+     */
+    public boolean contains(double latitude, double longitude) {
+        return indexOf(latitude, longitude) >= 0;
+    }
+
+    static GeoHashCoverage fromCellIds(long[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] ^= Long.MIN_VALUE;
+        }
+        Arrays.sort(ids);
+        long[] bits = new long[ids.length];
+        byte[] significantBits = new byte[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            long id = ids[i] ^ Long.MIN_VALUE;
+            bits[i] = GeoHashCellId.bits(id);
+            significantBits[i] = (byte) GeoHashCellId.significantBits(id);
+        }
+        return new GeoHashCoverage(bits, significantBits);
+    }
+
+    /**
+     * Area to cover
+     */
+    abstract static class Region {
+
+        static final int OUTSIDE = 0;
+        static final int BOUNDARY = 1;
+        static final int INSIDE = 2;
+
+        abstract boolean intersects(long bits, int significantBits);
+
+        abstract boolean contains(long bits, int significantBits);
+
+        int classify(long bits, int significantBits) {
+            if (contains(bits, significantBits)) {
+                return INSIDE;
+            }
+            return intersects(bits, significantBits) ? BOUNDARY : OUTSIDE;
+        }
+    }
+
+    /**
+     * Covered area. Like hashes it includes its minimum and excludes its maximum edges,
+     * unless it has no height or width, or the edge is the north or east world edge.
+     */
+    private static final class Box extends Region {
+
+        private final double minLatitude;
+        private final double maxLatitude;
+        private final double minLongitude;
+        private final double maxLongitude;
+
+        private Box(double y1, double y2, double x1, double x2) {
+            minLatitude = Math.min(y1, y2);
+            maxLatitude = Math.max(y1, y2);
+            minLongitude = Math.min(x1, x2);
+            maxLongitude = Math.max(x1, x2);
+        }
+
+        @Override
+        boolean intersects(long bits, int significantBits) {
+            double cellMinLatitude = GeoHashUtils.minLatitude(bits, significantBits);
+            double cellMaxLatitude = cellMinLatitude + GeoHashUtils.latitudeSize(significantBits);
+            double cellMinLongitude = GeoHashUtils.minLongitude(bits, significantBits);
+            double cellMaxLongitude = cellMinLongitude + GeoHashUtils.longitudeSize(significantBits);
+            return (cellMinLatitude < maxLatitude || cellMinLatitude == minLatitude)
+                    && (cellMaxLatitude > minLatitude || cellMaxLatitude == LATITUDE_MAX_ABS)
+                    && (cellMinLongitude < maxLongitude || cellMinLongitude == minLongitude)
+                    && (cellMaxLongitude > minLongitude || cellMaxLongitude == LONGITUDE_MAX_ABS);
+        }
+
+        @Override
+        boolean contains(long bits, int significantBits) {
+            double cellMinLatitude = GeoHashUtils.minLatitude(bits, significantBits);
+            double cellMinLongitude = GeoHashUtils.minLongitude(bits, significantBits);
+            return cellMinLatitude >= minLatitude
+                    && cellMinLatitude + GeoHashUtils.latitudeSize(significantBits) <= maxLatitude
+                    && cellMinLongitude >= minLongitude
+                    && cellMinLongitude + GeoHashUtils.longitudeSize(significantBits) <= maxLongitude;
+        }
+    }
+
+    /**
+     * Points within a great-circle distance of a center
+     */
+    static final class Circle extends Region {
+
+        private final double latitude;
+        private final double longitude;
+        private final double radiusMeters;
+
+        Circle(double latitude, double longitude, double radiusMeters) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusMeters = radiusMeters;
+        }
+
+        @Override
+        boolean intersects(long bits, int significantBits) {
+            double minLatitude = GeoHashUtils.minLatitude(bits, significantBits);
+            double maxLatitude = minLatitude + GeoHashUtils.latitudeSize(significantBits);
+            double minLongitude = GeoHashUtils.minLongitude(bits, significantBits);
+            double maxLongitude = minLongitude + GeoHashUtils.longitudeSize(significantBits);
+            if (longitude >= minLongitude && longitude <= maxLongitude) {
+                double latitude = Math.max(minLatitude, Math.min(maxLatitude, this.latitude));
+                return GeoHashUtils.distance(this.latitude, longitude, latitude, longitude) <= radiusMeters;
+            }
+            // Outside of the hash longitudes the nearest point is on one of its meridian edges
+            return meridianDistance(minLongitude, minLatitude, maxLatitude) <= radiusMeters
+                    || meridianDistance(maxLongitude, minLatitude, maxLatitude) <= radiusMeters;
+        }
+
+        @Override
+        boolean contains(long bits, int significantBits) {
+            double minLatitude = GeoHashUtils.minLatitude(bits, significantBits);
+            double maxLatitude = minLatitude + GeoHashUtils.latitudeSize(significantBits);
+            double minLongitude = GeoHashUtils.minLongitude(bits, significantBits);
+            double maxLongitude = minLongitude + GeoHashUtils.longitudeSize(significantBits);
+            // Along a parallel the distance grows up to the antipodal meridian, past it the
+            // farthest point may be inside the hash, so such hashes are left crossing the border
+            double antipodal = longitude > 0 ? longitude - 180 : longitude + 180;
+            if ((antipodal >= minLongitude && antipodal <= maxLongitude)
+                    || antipodal + 360 <= maxLongitude || antipodal - 360 >= minLongitude) {
+                return false;
+            }
+            // Else the farthest point of a hash is on one of its meridian edges
+            return meridianFarthestDistance(minLongitude, minLatitude, maxLatitude) <= radiusMeters
+                    && meridianFarthestDistance(maxLongitude, minLatitude, maxLatitude) <= radiusMeters;
+        }
+
+        /**
+         * Distance to the farthest point of the meridian segment. Past a quarter of the globe in
+         * longitude it is the far foot of the perpendicular great circle when it falls on the
+         * segment, else one of the segment ends.
+         */
+        private double meridianFarthestDistance(double meridian, double minLatitude, double maxLatitude) {
+            double ends = Math.max(
+                    GeoHashUtils.distance(latitude, longitude, minLatitude, meridian),
+                    GeoHashUtils.distance(latitude, longitude, maxLatitude, meridian));
+            double cosDelta = Math.cos(Math.toRadians(meridian - longitude));
+            if (cosDelta < 0) {
+                double foot = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(latitude)) / cosDelta));
+                if (foot > minLatitude && foot < maxLatitude) {
+                    return Math.max(ends, GeoHashUtils.distance(latitude, longitude, foot, meridian));
+                }
+            }
+            return ends;
+        }
+
+        /**
+         * Distance to the meridian segment, from the foot of the perpendicular great circle when
+         * it falls on the segment, else from the nearest segment end
+         */
+        private double meridianDistance(double meridian, double minLatitude, double maxLatitude) {
+            double deltaLongitude = Math.toRadians(meridian - longitude);
+            double cosDelta = Math.cos(deltaLongitude);
+            if (cosDelta > 0) {
+                double foot = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(latitude)) / cosDelta));
+                if (foot >= minLatitude && foot <= maxLatitude) {
+                    return GeoHashUtils.distance(latitude, longitude, foot, meridian);
+                }
+            }
+            return Math.min(
+                    GeoHashUtils.distance(latitude, longitude, minLatitude, meridian),
+                    GeoHashUtils.distance(latitude, longitude, maxLatitude, meridian));
+        }
+    }
+}
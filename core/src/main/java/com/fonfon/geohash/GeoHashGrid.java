@@ -0,0 +1,163 @@
+package com.fonfon.geohash;
+
+import static com.fonfon.geohash.GeoHashUtils.EARTH_RADIUS_METERS;
+import static com.fonfon.geohash.GeoHashUtils.LATITUDE_MAX_ABS;
+import static com.fonfon.geohash.GeoHashUtils.LONGITUDE_MAX_ABS;
+
+/**
+ * Hashes of one precision as rows of latitude and wrapping columns of longitude, visited around a point
+ */
+final class GeoHashGrid {
+
+    interface CellVisitor {
+        void visit(long bits);
+    }
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(EARTH_RADIUS_METERS);
+
+    private final int significantBits;
+    private final long latitudeCells;
+    private final long longitudeCells;
+    private final double latitudeSize;
+    private final double longitudeSize;
+
+    GeoHashGrid(int significantBits) {
+        if (significantBits < 0 || significantBits > 60) {
+            throw new IllegalArgumentException("An index can only have 0..60 significant bits.");
+        }
+        this.significantBits = significantBits;
+        latitudeCells = 1L << (significantBits / 2);
+        longitudeCells = 1L << ((significantBits + 1) / 2);
+        latitudeSize = GeoHashUtils.latitudeSize(significantBits);
+        longitudeSize = GeoHashUtils.longitudeSize(significantBits);
+    }
+
+    int getSignificantBits() {
+        return significantBits;
+    }
+
+    long bits(double latitude, double longitude) {
+        return GeoHashUtils.encode(latitude, longitude, significantBits);
+    }
+
+    long row(double latitude) {
+        return GeoHashUtils.latitudeBits(GeoHashUtils.encode(latitude, 0, significantBits), significantBits);
+    }
+
+    long column(double longitude) {
+        return GeoHashUtils.longitudeBits(GeoHashUtils.encode(0, longitude, significantBits), significantBits);
+    }
+
+    private void visit(long row, long column, CellVisitor visitor) {
+        long wrapped = ((column % longitudeCells) + longitudeCells) % longitudeCells;
+        visitor.visit(GeoHashUtils.interleave(row, wrapped, significantBits));
+    }
+
+    /**
+     * Visit the hashes of the rows and columns reached by a circle
+     *
+     * @return false without visiting anything when there are more than maxCells hashes
+     */
+    boolean visitRadius(double latitude, double longitude, double radiusMeters, long maxCells, CellVisitor visitor) {
+        double radiusDegrees = radiusMeters / METERS_PER_DEGREE;
+        double minLatitude = latitude - radiusDegrees;
+        double maxLatitude = latitude + radiusDegrees;
+        long columns = longitudeCells;
+        long firstColumn = 0;
+        if (minLatitude > -LATITUDE_MAX_ABS && maxLatitude < LATITUDE_MAX_ABS) {
+            // Longitude reach of the circle, the circle does not cover a pole
+            double reach = Math.toDegrees(Math.asin(
+                    Math.sin(Math.toRadians(radiusDegrees)) / Math.cos(Math.toRadians(latitude))));
+            long first = (long) Math.floor((longitude - reach + LONGITUDE_MAX_ABS) / longitudeSize);
+            long last = (long) Math.floor((longitude + reach + LONGITUDE_MAX_ABS) / longitudeSize);
+            if (last - first + 1 < longitudeCells) {
+                columns = last - first + 1;
+                firstColumn = first;
+            }
+        }
+        long firstRow = row(Math.max(minLatitude, -LATITUDE_MAX_ABS));
+        long lastRow = row(Math.min(maxLatitude, LATITUDE_MAX_ABS));
+        if ((lastRow - firstRow + 1) * columns > maxCells) {
+            return false;
+        }
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column < firstColumn + columns; column++) {
+                visit(row, column, visitor);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the ring has hashes which are not in the smaller rings around the row
+     */
+    boolean hasRing(long centerRow, long ring) {
+        return ring == 0 || centerRow - ring >= 0 || centerRow + ring < latitudeCells
+                || 2 * ring - 1 < longitudeCells;
+    }
+
+    /**
+     * @return count of hashes in the ring and the smaller rings around the row
+     */
+    long ringsSize(long centerRow, long ring) {
+        long rows = Math.min(centerRow + ring, latitudeCells - 1) - Math.max(centerRow - ring, 0) + 1;
+        return rows * Math.min(2 * ring + 1, longitudeCells);
+    }
+
+    /**
+     * Visit the hashes of the ring which are not in the smaller rings
+     */
+    void visitRing(long centerRow, long centerColumn, long ring, CellVisitor visitor) {
+        long firstRow = Math.max(centerRow - ring, 0);
+        long lastRow = Math.min(centerRow + ring, latitudeCells - 1);
+        boolean allColumns = 2 * ring + 1 >= longitudeCells;
+        // Only the new columns of the ring, fewer when the ring wraps around
+        long newColumns = ring == 0 ? 0
+                : Math.min(2 * ring + 1, longitudeCells) - Math.min(2 * ring - 1, longitudeCells);
+        for (long row = firstRow; row <= lastRow; row++) {
+            boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+            if (edgeRow && allColumns) {
+                for (long column = 0; column < longitudeCells; column++) {
+                    visit(row, column, visitor);
+                }
+            } else if (edgeRow) {
+                for (long column = centerColumn - ring; column <= centerColumn + ring; column++) {
+                    visit(row, column, visitor);
+                }
+            } else {
+                if (newColumns > 0) {
+                    visit(row, centerColumn - ring, visitor);
+                }
+                if (newColumns > 1) {
+                    visit(row, centerColumn + ring, visitor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lower bound of the distance from the point to the hashes outside of the ring around it
+     */
+    double outsideDistance(double latitude, double longitude, long ring) {
+        long centerRow = row(latitude);
+        double distance = Double.POSITIVE_INFINITY;
+        if (centerRow - ring > 0) {
+            double minLatitude = (centerRow - ring) * latitudeSize - LATITUDE_MAX_ABS;
+            distance = Math.min(distance, (latitude - minLatitude) * METERS_PER_DEGREE);
+        }
+        if (centerRow + ring < latitudeCells - 1) {
+            double maxLatitude = (centerRow + ring + 1) * latitudeSize - LATITUDE_MAX_ABS;
+            distance = Math.min(distance, (maxLatitude - latitude) * METERS_PER_DEGREE);
+        }
+        if (2 * ring + 1 < longitudeCells) {
+            long centerColumn = column(longitude);
+            double minLongitude = (centerColumn - ring) * longitudeSize - LONGITUDE_MAX_ABS;
+            double maxLongitude = (centerColumn + ring + 1) * longitudeSize - LONGITUDE_MAX_ABS;
+            double gap = Math.min(Math.min(longitude - minLongitude, maxLongitude - longitude), 90);
+            // Nearest point past a meridian, at any latitude
+            double angle = Math.asin(Math.cos(Math.toRadians(latitude)) * Math.sin(Math.toRadians(gap)));
+            distance = Math.min(distance, angle * EARTH_RADIUS_METERS);
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,278 @@
+package com.fonfon.geohash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static com.fonfon.geohash.GeoHashUtils.MAX_BIT_PRECISION;
+
+/**
+ * Points grouped by the hash of one precision containing them, in compressed sparse row layout:
+ * hashes sorted in Z-order, offsets of their first points and the point indexes sorted by hash.
+ * Points of the hash at index i are {@code getPoint(getOffset(i))} up to
+ * {@code getPoint(getOffset(i + 1) - 1)}, in their input order.
+ */
+public final class GeoHashGroups {
+
+    /**
+     * Max bits sorted per radix pass
+     */
+    private static final int RADIX_BITS = 11;
+    /**
+     * Points below which sorting in parallel does not pay off
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int significantBits;
+    private final long[] cells;
+    private final int[] offsets;
+    private final int[] points;
+
+    private GeoHashGroups(int significantBits, long[] cells, int[] offsets, int[] points) {
+        this.significantBits = significantBits;
+        this.cells = cells;
+        this.offsets = offsets;
+        this.points = points;
+    }
+
+    /**
+     * @param hashes points hash bits, of at least significantBits
+     * @param significantBits count of signification bits of the groups hashes - 64
+     * @return new {@link GeoHashGroups}
+     */
+    public static GeoHashGroups group(long[] hashes, int significantBits) {
+        return group(null, hashes, significantBits);
+    }
+
+    /**
+     * Sort with least significant digit radix sort, every pass counting and scattering chunks of
+     * points in parallel
+     *
+     * @param pool fork-join pool running the passes, or null to sort in the calling thread
+     * @param hashes points hash bits, of at least significantBits
+     * @param significantBits count of signification bits of the groups hashes - 64
+     * @return new {@link GeoHashGroups}
+     */
+    public static GeoHashGroups group(ForkJoinPool pool, long[] hashes, int significantBits) {
+        GeoHashUtils.checkSignificantBits(significantBits);
+        int length = hashes.length;
+        long[] keys = new long[length];
+        int[] points = new int[length];
+        if (significantBits > 0) {
+            for (int i = 0; i < length; i++) {
+                keys[i] = hashes[i] >>> (MAX_BIT_PRECISION - significantBits);
+                points[i] = i;
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                points[i] = i;
+            }
+        }
+
+        int passes = (significantBits + RADIX_BITS - 1) / RADIX_BITS;
+        if (passes > 0) {
+            int digitBits = (significantBits + passes - 1) / passes;
+            int chunks = pool == null || length < PARALLEL_THRESHOLD ? 1 : pool.getParallelism() * 2;
+            Radix radix = new Radix(keys, points, digitBits, chunks);
+            for (int pass = 0; pass < passes; pass++) {
+                radix.pass(pool, pass * digitBits);
+            }
+            keys = radix.keys;
+            points = radix.points;
+        }
+
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                count++;
+            }
+        }
+        long[] cells = new long[count];
+        int[] offsets = new int[count + 1];
+        int cell = -1;
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                cell++;
+                cells[cell] = significantBits == 0 ? 0 : keys[i] << (MAX_BIT_PRECISION - significantBits);
+                offsets[cell] = i;
+            }
+        }
+        offsets[count] = length;
+        return new GeoHashGroups(significantBits, cells, offsets, points);
+    }
+
+    /**
+     * @return groups hashes count of signification bits
+     */
+    public int getSignificantBits() {
+        return significantBits;
+    }
+
+    /**
+     * @return count of hashes with points
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * @param index hash index
+     * @return hash bits
+     */
+    public long getBits(int index) {
+        return cells[index];
+    }
+
+    /**
+     * @param index hash index, size() for the end of the last hash
+     * @return position of the first point of the hash
+     */
+    public int getOffset(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * @param index hash index
+     * @return count of points in the hash
+     */
+    public int getCount(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * @param position point position, sorted by hash
+     * @return index of the point in the input hashes
+     */
+    public int getPoint(int position) {
+        return points[position];
+    }
+
+    /**
+     * @return count of points
+     */
+    public int getPointCount() {
+        return points.length;
+    }
+
+    /**
+     * Stable least significant digit radix sort of keys and their points, double buffered
+     */
+    private static final class Radix {
+
+        long[] keys;
+        int[] points;
+        private long[] keysBuffer;
+        private int[] pointsBuffer;
+        private final int digitBits;
+        private final int chunks;
+        /**
+         * Per chunk digit counts, turned into per chunk digit scatter positions
+         */
+        private final int[][] positions;
+
+        Radix(long[] keys, int[] points, int digitBits, int chunks) {
+            this.keys = keys;
+            this.points = points;
+            this.digitBits = digitBits;
+            this.chunks = chunks;
+            keysBuffer = new long[keys.length];
+            pointsBuffer = new int[points.length];
+            positions = new int[chunks][1 << digitBits];
+        }
+
+        void pass(ForkJoinPool pool, int shift) {
+            run(pool, shift, false);
+            int position = 0;
+            for (int digit = 0; digit < 1 << digitBits; digit++) {
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int count = positions[chunk][digit];
+                    positions[chunk][digit] = position;
+                    position += count;
+                }
+            }
+            run(pool, shift, true);
+
+            long[] sortedKeys = keysBuffer;
+            keysBuffer = keys;
+            keys = sortedKeys;
+            int[] sortedPoints = pointsBuffer;
+            pointsBuffer = points;
+            points = sortedPoints;
+        }
+
+        private void run(ForkJoinPool pool, int shift, boolean scatter) {
+            if (chunks == 1) {
+                new Chunk(this, 0, shift, scatter).compute();
+                return;
+            }
+            final List<Chunk> tasks = new ArrayList<Chunk>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                tasks.add(new Chunk(this, chunk, shift, scatter));
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+
+        void count(int chunk, int shift) {
+            int[] counts = positions[chunk];
+            Arrays.fill(counts, 0);
+            long mask = (1L << digitBits) - 1;
+            int to = end(chunk);
+            for (int i = start(chunk); i < to; i++) {
+                counts[(int) ((keys[i] >>> shift) & mask)]++;
+            }
+        }
+
+        void scatter(int chunk, int shift) {
+            int[] next = positions[chunk];
+            long mask = (1L << digitBits) - 1;
+            int to = end(chunk);
+            for (int i = start(chunk); i < to; i++) {
+                int position = next[(int) ((keys[i] >>> shift) & mask)]++;
+                keysBuffer[position] = keys[i];
+                pointsBuffer[position] = points[i];
+            }
+        }
+
+        private int start(int chunk) {
+            return (int) ((long) keys.length * chunk / chunks);
+        }
+
+        private int end(int chunk) {
+            return (int) ((long) keys.length * (chunk + 1) / chunks);
+        }
+    }
+
+    private static final class Chunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Radix radix;
+        private final int chunk;
+        private final int shift;
+        private final boolean scatter;
+
+        Chunk(Radix radix, int chunk, int shift, boolean scatter) {
+            this.radix = radix;
+            this.chunk = chunk;
+            this.shift = shift;
+            this.scatter = scatter;
+        }
+
+        @Override
+        protected void compute() {
+            if (scatter) {
+                radix.scatter(chunk, shift);
+            } else {
+                radix.count(chunk, shift);
+            }
+        }
+    }
+}
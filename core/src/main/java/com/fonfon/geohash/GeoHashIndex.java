@@ -0,0 +1,287 @@
+package com.fonfon.geohash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory index of moving items by their position. Items are kept in buckets of one hash
+ * precision, found by the hash bits, so moves are O(1) and searches only visit the hashes
+ * around the searched point. Items are told apart with equals and hashCode.
+ * The index is not thread safe.
+ *
+ * @param <T> item type
+ */
+public final class GeoHashIndex<T> {
+
+    /**
+     * Default bucket precision, 6 characters, about 1.2 x 0.6 km on the equator
+     */
+    public static final int DEFAULT_SIGNIFICANT_BITS = 30;
+
+    private final GeoHashGrid grid;
+    private final Map<T, Entry<T>> entries = new HashMap<T, Entry<T>>();
+    private final LongObjectMap<Bucket<T>> buckets = new LongObjectMap<Bucket<T>>();
+
+    public GeoHashIndex() {
+        this(DEFAULT_SIGNIFICANT_BITS);
+    }
+
+    /**
+     * @param significantBits bucket count of signification bits, 0..60. Searches are fastest when
+     *                        a bucket holds a few items.
+     */
+    public GeoHashIndex(int significantBits) {
+        grid = new GeoHashGrid(significantBits);
+    }
+
+    /**
+     * @return bucket count of signification bits
+     */
+    public int getSignificantBits() {
+        return grid.getSignificantBits();
+    }
+
+    /**
+     * @return count of items
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param item item
+     * @return item is in the index
+     */
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Add an item, an item already in the index keeps its position
+     *
+     * @param item item
+     * @param latitude item latitude
+     * @param longitude item longitude
+     * @return item was added
+     */
+    public boolean insert(T item, double latitude, double longitude) {
+        if (entries.containsKey(item)) {
+            return false;
+        }
+        Entry<T> entry = new Entry<T>(item);
+        entries.put(item, entry);
+        place(entry, latitude, longitude);
+        return true;
+    }
+
+    /**
+     * Move an item
+     *
+     * @param item item
+     * @param latitude new item latitude
+     * @param longitude new item longitude
+     * @return item is in the index
+     */
+    public boolean update(T item, double latitude, double longitude) {
+        Entry<T> entry = entries.get(item);
+        if (entry == null) {
+            return false;
+        }
+        long bits = grid.bits(latitude, longitude);
+        if (bits == entry.bucket.bits) {
+            entry.latitude = latitude;
+            entry.longitude = longitude;
+        } else {
+            unplace(entry);
+            place(entry, latitude, longitude);
+        }
+        return true;
+    }
+
+    /**
+     * @param item item
+     * @return item was in the index
+     */
+    public boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        unplace(entry);
+        return true;
+    }
+
+    /**
+     * Remove all items
+     */
+    public void clear() {
+        for (Entry<T> entry : entries.values()) {
+            unplace(entry);
+        }
+        entries.clear();
+    }
+
+    /**
+     * Items within a great-circle distance of a point
+     *
+     * @param latitude point latitude
+     * @param longitude point longitude
+     * @param radiusMeters radius in meters
+     * @return items in no particular order
+     */
+    public List<T> searchRadius(final double latitude, final double longitude, final double radiusMeters) {
+        final List<T> result = new ArrayList<T>();
+        if (!(radiusMeters >= 0) || entries.isEmpty()) {
+            return result;
+        }
+        boolean visited = grid.visitRadius(latitude, longitude, radiusMeters, buckets.size(),
+                new GeoHashGrid.CellVisitor() {
+                    @Override
+                    public void visit(long bits) {
+                        Bucket<T> bucket = buckets.get(bits);
+                        if (bucket != null) {
+                            bucket.collect(latitude, longitude, radiusMeters, result);
+                        }
+                    }
+                });
+        if (!visited) {
+            // Fewer buckets than hashes around the point
+            for (int slot = 0; slot < buckets.capacity(); slot++) {
+                Bucket<T> bucket = buckets.valueAt(slot);
+                if (bucket != null) {
+                    bucket.collect(latitude, longitude, radiusMeters, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Nearest items by great-circle distance, searched in growing rings of hashes around the point
+     *
+     * @param latitude point latitude
+     * @param longitude point longitude
+     * @param count max count of items
+     * @return items sorted by distance, nearest first
+     */
+    public List<T> searchNearest(final double latitude, final double longitude, int count) {
+        count = Math.min(count, entries.size());
+        if (count <= 0) {
+            return new ArrayList<T>();
+        }
+        final NearestItems<T> nearest = new NearestItems<T>(count);
+        GeoHashGrid.CellVisitor visitor = new GeoHashGrid.CellVisitor() {
+            @Override
+            public void visit(long bits) {
+                Bucket<T> bucket = buckets.get(bits);
+                if (bucket != null) {
+                    bucket.offer(latitude, longitude, nearest);
+                }
+            }
+        };
+        long centerRow = grid.row(latitude);
+        long centerColumn = grid.column(longitude);
+        for (long ring = 0; grid.hasRing(centerRow, ring); ring++) {
+            if (ring > 0 && grid.ringsSize(centerRow, ring) > buckets.size()) {
+                // Sparse items, walking every bucket is cheaper than the rest of the rings
+                NearestItems<T> all = new NearestItems<T>(count);
+                for (int slot = 0; slot < buckets.capacity(); slot++) {
+                    Bucket<T> bucket = buckets.valueAt(slot);
+                    if (bucket != null) {
+                        bucket.offer(latitude, longitude, all);
+                    }
+                }
+                return all.toList();
+            }
+            grid.visitRing(centerRow, centerColumn, ring, visitor);
+            if (nearest.isFull() && nearest.farthest() <= grid.outsideDistance(latitude, longitude, ring)) {
+                break;
+            }
+        }
+        return nearest.toList();
+    }
+
+    private void place(Entry<T> entry, double latitude, double longitude) {
+        entry.latitude = latitude;
+        entry.longitude = longitude;
+        long bits = grid.bits(latitude, longitude);
+        Bucket<T> bucket = buckets.get(bits);
+        if (bucket == null) {
+            bucket = new Bucket<T>(bits);
+            buckets.put(bits, bucket);
+        }
+        bucket.add(entry);
+    }
+
+    private void unplace(Entry<T> entry) {
+        Bucket<T> bucket = entry.bucket;
+        bucket.remove(entry);
+        if (bucket.size == 0) {
+            buckets.remove(bucket.bits);
+        }
+    }
+
+    private static final class Entry<T> {
+
+        final T item;
+        double latitude;
+        double longitude;
+        Bucket<T> bucket;
+        int index;
+
+        Entry(T item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * Items of one hash, removed by swapping in the last one
+     */
+    private static final class Bucket<T> {
+
+        final long bits;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Entry<T>[] entries = new Entry[4];
+        int size;
+
+        Bucket(long bits) {
+            this.bits = bits;
+        }
+
+        void add(Entry<T> entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entry.bucket = this;
+            entry.index = size;
+            entries[size++] = entry;
+        }
+
+        void remove(Entry<T> entry) {
+            Entry<T> last = entries[--size];
+            entries[entry.index] = last;
+            last.index = entry.index;
+            entries[size] = null;
+            entry.bucket = null;
+        }
+
+        void collect(double latitude, double longitude, double radiusMeters, List<T> result) {
+            for (int i = 0; i < size; i++) {
+                Entry<T> entry = entries[i];
+                if (GeoHashUtils.distance(latitude, longitude, entry.latitude, entry.longitude) <= radiusMeters) {
+                    result.add(entry.item);
+                }
+            }
+        }
+
+        void offer(double latitude, double longitude, NearestItems<T> nearest) {
+            for (int i = 0; i < size; i++) {
+                Entry<T> entry = entries[i];
+                nearest.offer(GeoHashUtils.distance(latitude, longitude, entry.latitude, entry.longitude), entry.item);
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.fonfon.geohash;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing map from hashes to values, with linear probing. Keys are the hash bits and
+ * count of significant bits kept in primitive arrays, so lookups neither box nor allocate.
+ * Hashes of different precisions are different keys. Values may be null.
+ * The map is not thread safe.
+ *
+ * @param <V> value type
+ */
+public final class GeoHashLongMap<V> extends LongHashTable {
+
+    private static final byte EMPTY = -1;
+
+    private byte[] significantBits;
+    private Object[] values;
+
+    /**
+     * Visitor of the map entries
+     *
+     * @param <V> value type
+     */
+    public interface EntryVisitor<V> {
+        void visit(long bits, int significantBits, V value);
+    }
+
+    public GeoHashLongMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize count of entries held without growing, below 3 * 2^28
+     */
+    public GeoHashLongMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return count of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return map has no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return value of the hash, null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long bits, int significantBits) {
+        int slot = find(bits, significantBits);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return map has the hash
+     */
+    public boolean containsKey(long bits, int significantBits) {
+        return find(bits, significantBits) >= 0;
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param value value of the hash
+     * @return previous value of the hash, null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long bits, int significantBits, V value) {
+        GeoHashUtils.checkSignificantBits(significantBits);
+        bits &= GeoHashUtils.mask(significantBits);
+        int slot = slot(GeoHashUtils.mix(bits, significantBits));
+        for (; this.significantBits[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == bits && this.significantBits[slot] == significantBits) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        checkRoom();
+        keys[slot] = bits;
+        this.significantBits[slot] = (byte) significantBits;
+        values[slot] = value;
+        added();
+        return null;
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return removed value of the hash, null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long bits, int significantBits) {
+        int slot = find(bits, significantBits);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    /**
+     * Remove all entries, keeping the capacity
+     */
+    public void clear() {
+        Arrays.fill(significantBits, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Visit every entry in no particular order. The map must not be changed while visited.
+     *
+     * @param visitor entry visitor
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryVisitor<? super V> visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (significantBits[slot] != EMPTY) {
+                visitor.visit(keys[slot], significantBits[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return slot of the hash, -1 if absent
+     */
+    private int find(long bits, int significantBits) {
+        GeoHashUtils.checkSignificantBits(significantBits);
+        bits &= GeoHashUtils.mask(significantBits);
+        for (int slot = slot(GeoHashUtils.mix(bits, significantBits)); this.significantBits[slot] != EMPTY;
+             slot = (slot + 1) & mask) {
+            if (keys[slot] == bits && this.significantBits[slot] == significantBits) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    long hashAt(int slot) {
+        return GeoHashUtils.mix(keys[slot], significantBits[slot]);
+    }
+
+    @Override
+    boolean isFree(int slot) {
+        return significantBits[slot] == EMPTY;
+    }
+
+    @Override
+    void move(int from, int to) {
+        significantBits[to] = significantBits[from];
+        values[to] = values[from];
+    }
+
+    @Override
+    void free(int slot) {
+        significantBits[slot] = EMPTY;
+        values[slot] = null;
+    }
+
+    @Override
+    void allocate(int capacity) {
+        super.allocate(capacity);
+        significantBits = new byte[capacity];
+        values = new Object[capacity];
+        Arrays.fill(significantBits, EMPTY);
+    }
+
+    @Override
+    void grow(int capacity) {
+        long[] oldKeys = keys;
+        byte[] oldSignificantBits = significantBits;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSignificantBits[i] != EMPTY) {
+                int slot = freeSlot(GeoHashUtils.mix(oldKeys[i], oldSignificantBits[i]));
+                keys[slot] = oldKeys[i];
+                significantBits[slot] = oldSignificantBits[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.fonfon.geohash;
+
+import static com.fonfon.geohash.GeoHashUtils.BASE32_BITS;
+
+/**
+ * Geohashes covering a polygon, split into hashes inside the polygon and hashes crossing its border.
+ * The polygon edges are straight lines in latitude/longitude degrees and may not cross the 180th meridian.
+ */
+public final class GeoHashPolygonCoverage {
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final GeoHashCoverage interior;
+    private final GeoHashCoverage boundary;
+
+    private GeoHashPolygonCoverage(double[] latitudes, double[] longitudes,
+                                   GeoHashCoverage interior, GeoHashCoverage boundary) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.interior = interior;
+        this.boundary = boundary;
+    }
+
+    /**
+     * Cover a polygon. Hashes fully inside the polygon are kept as large as they are, hashes crossing
+     * its border are split down to numberOfCharacters while the count of hashes stays within maxCells.
+     *
+     * @param latitudes polygon vertex latitudes
+     * @param longitudes polygon vertex longitudes, the polygon is closed from the last vertex to the first
+     * @param numberOfCharacters max characters count - 12
+     * @param maxCells max count of hashes, at least 1
+     * @return new {@link GeoHashPolygonCoverage}
+     */
+    public static GeoHashPolygonCoverage coverPolygon(double[] latitudes, double[] longitudes,
+                                                      int numberOfCharacters, int maxCells) {
+        GeoHashUtils.checkNumberOfCharacters(numberOfCharacters);
+        return coverPolygon(latitudes, longitudes, numberOfCharacters * BASE32_BITS, BASE32_BITS, maxCells);
+    }
+
+    /**
+     * Cover a polygon with hashes of any bit precision, split levelBits at a time, see
+     * {@link GeoHashCoverage#coverBoundingBox(double, double, double, double, int, int, int)}
+     *
+     * @param latitudes polygon vertex latitudes
+     * @param longitudes polygon vertex longitudes, the polygon is closed from the last vertex to the first
+     * @param maxSignificantBits max count of signification bits - 60
+     * @param levelBits count of bits per split, 1..5
+     * @param maxCells max count of hashes, at least 1
+     * @return new {@link GeoHashPolygonCoverage}
+     */
+    public static GeoHashPolygonCoverage coverPolygon(double[] latitudes, double[] longitudes,
+                                                      int maxSignificantBits, int levelBits, int maxCells) {
+        if (latitudes.length != longitudes.length || latitudes.length < 3) {
+            throw new IllegalArgumentException("A polygon needs at least 3 vertices with both coordinates.");
+        }
+        GeoHashCoverage.checkCover(maxSignificantBits, levelBits, maxCells);
+        double[] polygonLatitudes = latitudes.clone();
+        double[] polygonLongitudes = longitudes.clone();
+        LongList inside = new LongList();
+        LongList boundary = new LongList();
+        GeoHashCoverage.cover(new Polygon(polygonLatitudes, polygonLongitudes),
+                maxSignificantBits, levelBits, maxCells, inside, boundary);
+        return new GeoHashPolygonCoverage(polygonLatitudes, polygonLongitudes,
+                GeoHashCoverage.fromCellIds(inside.toArray()),
+                GeoHashCoverage.fromCellIds(boundary.toArray()));
+    }
+
+    /**
+     * @return hashes fully inside the polygon
+     */
+    public GeoHashCoverage getInterior() {
+        return interior;
+    }
+
+    /**
+     * @return hashes crossing the polygon border
+     */
+    public GeoHashCoverage getBoundary() {
+        return boundary;
+    }
+
+    /**
+     * Check a point with a hash lookup, the exact polygon test only runs for points in boundary hashes
+     *
+     * @param latitude point latitude
+     * @param longitude point longitude
+     * @return point is inside the polygon
+     */
+    public boolean contains(double latitude, double longitude) {
+        if (interior.contains(latitude, longitude)) {
+            return true;
+        }
+        return boundary.contains(latitude, longitude) && Polygon.contains(latitudes, longitudes, latitude, longitude);
+    }
+
+    private static final class Polygon extends GeoHashCoverage.Region {
+
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private double minLatitude = Double.MAX_VALUE;
+        private double maxLatitude = -Double.MAX_VALUE;
+        private double minLongitude = Double.MAX_VALUE;
+        private double maxLongitude = -Double.MAX_VALUE;
+
+        private Polygon(double[] latitudes, double[] longitudes) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            for (int i = 0; i < latitudes.length; i++) {
+                minLatitude = Math.min(minLatitude, latitudes[i]);
+                maxLatitude = Math.max(maxLatitude, latitudes[i]);
+                minLongitude = Math.min(minLongitude, longitudes[i]);
+                maxLongitude = Math.max(maxLongitude, longitudes[i]);
+            }
+        }
+
+        @Override
+        boolean intersects(long bits, int significantBits) {
+            return classify(bits, significantBits) != OUTSIDE;
+        }
+
+        @Override
+        boolean contains(long bits, int significantBits) {
+            return classify(bits, significantBits) == INSIDE;
+        }
+
+        @Override
+        int classify(long bits, int significantBits) {
+            double cellMinLatitude = GeoHashUtils.minLatitude(bits, significantBits);
+            double cellMaxLatitude = cellMinLatitude + GeoHashUtils.latitudeSize(significantBits);
+            double cellMinLongitude = GeoHashUtils.minLongitude(bits, significantBits);
+            double cellMaxLongitude = cellMinLongitude + GeoHashUtils.longitudeSize(significantBits);
+            if (cellMinLatitude > maxLatitude || cellMaxLatitude < minLatitude
+                    || cellMinLongitude > maxLongitude || cellMaxLongitude < minLongitude) {
+                return OUTSIDE;
+            }
+            for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+                if (segmentIntersects(longitudes[j], latitudes[j], longitudes[i], latitudes[i],
+                        cellMinLongitude, cellMinLatitude, cellMaxLongitude, cellMaxLatitude)) {
+                    return BOUNDARY;
+                }
+            }
+            // No edge enters the hash, so it is either fully inside or fully outside
+            boolean inside = contains(latitudes, longitudes,
+                    (cellMinLatitude + cellMaxLatitude) / 2, (cellMinLongitude + cellMaxLongitude) / 2);
+            return inside ? INSIDE : OUTSIDE;
+        }
+
+        /**
+         * Even-odd ray casting
+         */
+        private static boolean contains(double[] latitudes, double[] longitudes, double latitude, double longitude) {
+            boolean inside = false;
+            for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+                if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+                        && longitude < (longitudes[j] - longitudes[i]) * (latitude - latitudes[i])
+                        / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        /**
+         * Liang-Barsky clipping of the segment against the closed box
+         */
+        private static boolean segmentIntersects(double x0, double y0, double x1, double y1,
+                                                 double minX, double minY, double maxX, double maxY) {
+            double dx = x1 - x0;
+            double dy = y1 - y0;
+            double enter = 0;
+            double exit = 1;
+            for (int side = 0; side < 4; side++) {
+                double p;
+                double q;
+                switch (side) {
+                    case 0:
+                        p = -dx;
+                        q = x0 - minX;
+                        break;
+                    case 1:
+                        p = dx;
+                        q = maxX - x0;
+                        break;
+                    case 2:
+                        p = -dy;
+                        q = y0 - minY;
+                        break;
+                    default:
+                        p = dy;
+                        q = maxY - y0;
+                        break;
+                }
+                if (p == 0) {
+                    if (q < 0) {
+                        return false;
+                    }
+                } else {
+                    double t = q / p;
+                    if (p < 0) {
+                        if (t > exit) {
+                            return false;
+                        }
+                        enter = Math.max(enter, t);
+                    } else {
+                        if (t < enter) {
+                            return false;
+                        }
+                        exit = Math.min(exit, t);
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
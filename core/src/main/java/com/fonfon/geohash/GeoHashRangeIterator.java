@@ -0,0 +1,255 @@
+package com.fonfon.geohash;
+
+import static com.fonfon.geohash.GeoHashUtils.MAX_BIT_PRECISION;
+
+/**
+ * Cursor over the hashes of one precision in Z-order, from a first to a last hash inclusive.
+ * The cursor only changes primitive fields, so walking it allocates nothing.
+ * <p>
+ * A cursor over a box walks the Z-order range between the box corners and leaps over the runs
+ * of hashes outside the box: the next hash in the box is computed with BIGMIN, so the count of
+ * steps is the count of hashes in the box.
+ * <pre>
+ * GeoHashRangeIterator cursor = GeoHashRangeIterator.inBoundingBox(53.15, 53.25, 44.95, 45.1, 30);
+ * while (cursor.next()) {
+ *     long bits = cursor.current();
+ * }
+ * </pre>
+ */
+public final class GeoHashRangeIterator {
+
+    private static final long LONGITUDE_BITS = 0xaaaaaaaaaaaaaaaaL;
+    private static final long LATITUDE_BITS = 0x5555555555555555L;
+
+    private final int significantBits;
+    private final long step;
+    private final long last;
+    private final boolean box;
+    private final long latitudeMask;
+    private final long longitudeMask;
+    private final long min;
+    private final long max;
+    private long candidate;
+    private boolean exhausted;
+    private long current;
+
+    /**
+     * @param fromBits first hash bits
+     * @param toBits last hash bits, inclusive
+     * @param significantBits count of signification bits - 64
+     */
+    public GeoHashRangeIterator(long fromBits, long toBits, int significantBits) {
+        this(fromBits, toBits, significantBits, false);
+    }
+
+    private GeoHashRangeIterator(long fromBits, long toBits, int significantBits, boolean box) {
+        GeoHashUtils.checkSignificantBits(significantBits);
+        long mask = GeoHashUtils.mask(significantBits);
+        this.significantBits = significantBits;
+        this.box = box;
+        step = significantBits == 0 ? 0 : 1L << (MAX_BIT_PRECISION - significantBits);
+        latitudeMask = LATITUDE_BITS & mask;
+        longitudeMask = LONGITUDE_BITS & mask;
+        min = fromBits & mask;
+        max = toBits & mask;
+        last = max;
+        candidate = min;
+        exhausted = compare(min, max) > 0;
+    }
+
+    /**
+     * Cursor over the hashes intersecting a box, the box includes its maximum latitude and longitude
+     *
+     * @param minLatitude minimum box latitude
+     * @param maxLatitude maximum box latitude
+     * @param minLongitude minimum box longitude
+     * @param maxLongitude maximum box longitude
+     * @param significantBits count of signification bits - 64
+     * @return new {@link GeoHashRangeIterator}
+     */
+    public static GeoHashRangeIterator inBoundingBox(double minLatitude, double maxLatitude,
+                                                     double minLongitude, double maxLongitude,
+                                                     int significantBits) {
+        return new GeoHashRangeIterator(GeoHashUtils.encode(minLatitude, minLongitude, significantBits),
+                GeoHashUtils.encode(maxLatitude, maxLongitude, significantBits), significantBits, true);
+    }
+
+    /**
+     * @return count of signification bits
+     */
+    public int getSignificantBits() {
+        return significantBits;
+    }
+
+    /**
+     * Move to the next hash
+     *
+     * @return false when there are no more hashes, the cursor stays on the last one
+     */
+    public boolean next() {
+        if (exhausted) {
+            return false;
+        }
+        long bits = candidate;
+        if (box && !inBox(bits)) {
+            bits = bigMin(bits, min, max, significantBits);
+        }
+        current = bits;
+        if (bits == last) {
+            exhausted = true;
+        } else {
+            candidate = bits + step;
+        }
+        return true;
+    }
+
+    /**
+     * Leap forward, the next hash is the first one at or after the bits. Bits before the next
+     * hash are ignored.
+     *
+     * @param bits hash bits
+     */
+    public void skipTo(long bits) {
+        bits &= GeoHashUtils.mask(significantBits);
+        if (exhausted || compare(bits, candidate) <= 0) {
+            return;
+        }
+        if (compare(bits, last) > 0) {
+            exhausted = true;
+        } else {
+            candidate = bits;
+        }
+    }
+
+    /**
+     * @return current hash bits
+     */
+    public long current() {
+        return current;
+    }
+
+    /**
+     * @return current hash min latitude
+     */
+    public double minLatitude() {
+        return GeoHashUtils.minLatitude(current, significantBits);
+    }
+
+    /**
+     * @return current hash max latitude
+     */
+    public double maxLatitude() {
+        return GeoHashUtils.maxLatitude(current, significantBits);
+    }
+
+    /**
+     * @return current hash min longitude
+     */
+    public double minLongitude() {
+        return GeoHashUtils.minLongitude(current, significantBits);
+    }
+
+    /**
+     * @return current hash max longitude
+     */
+    public double maxLongitude() {
+        return GeoHashUtils.maxLongitude(current, significantBits);
+    }
+
+    /**
+     * Smallest hash in a box after a hash outside of it, the BIGMIN of Tropf and Herzog
+     *
+     * @param bits hash bits outside the box, between min and max in Z-order
+     * @param min box min corner hash bits, min latitude and min longitude
+     * @param max box max corner hash bits, max latitude and max longitude
+     * @param significantBits count of signification bits
+     * @return bits of the first hash in the box after bits
+     */
+    public static long bigMin(long bits, long min, long max, int significantBits) {
+        long mask = GeoHashUtils.mask(significantBits);
+        long bigMin = max;
+        for (int position = MAX_BIT_PRECISION - 1; position >= MAX_BIT_PRECISION - significantBits; position--) {
+            long bit = 1L << position;
+            int split = ((bits & bit) != 0 ? 4 : 0) | ((min & bit) != 0 ? 2 : 0) | ((max & bit) != 0 ? 1 : 0);
+            if (split == 1) {
+                bigMin = loadFirst(min, position);
+                max = loadLast(max, position, mask);
+            } else if (split == 3) {
+                return min;
+            } else if (split == 4) {
+                return bigMin;
+            } else if (split == 5) {
+                min = loadFirst(min, position);
+            }
+        }
+        return bigMin;
+    }
+
+    /**
+     * Largest hash in a box before a hash outside of it, the LITMAX of Tropf and Herzog
+     *
+     * @param bits hash bits outside the box, between min and max in Z-order
+     * @param min box min corner hash bits, min latitude and min longitude
+     * @param max box max corner hash bits, max latitude and max longitude
+     * @param significantBits count of signification bits
+     * @return bits of the last hash in the box before bits
+     */
+    public static long litMax(long bits, long min, long max, int significantBits) {
+        long mask = GeoHashUtils.mask(significantBits);
+        long litMax = min;
+        for (int position = MAX_BIT_PRECISION - 1; position >= MAX_BIT_PRECISION - significantBits; position--) {
+            long bit = 1L << position;
+            int split = ((bits & bit) != 0 ? 4 : 0) | ((min & bit) != 0 ? 2 : 0) | ((max & bit) != 0 ? 1 : 0);
+            if (split == 1) {
+                max = loadLast(max, position, mask);
+            } else if (split == 3) {
+                return litMax;
+            } else if (split == 4) {
+                return max;
+            } else if (split == 5) {
+                litMax = loadLast(max, position, mask);
+                min = loadFirst(min, position);
+            }
+        }
+        return litMax;
+    }
+
+    /**
+     * Set the bit at the position and clear the lower bits of its axis, the first hash of the
+     * upper half of the axis
+     */
+    private static long loadFirst(long bits, int position) {
+        long axis = axisBelow(position);
+        return (bits & ~axis) | (1L << position);
+    }
+
+    /**
+     * Clear the bit at the position and set the lower bits of its axis, the last hash of the
+     * lower half of the axis, down to the last significant bit
+     */
+    private static long loadLast(long bits, int position, long mask) {
+        long axis = axisBelow(position);
+        return (bits & ~axis) | (axis & mask & ~(1L << position));
+    }
+
+    /**
+     * @return bits of the axis of the position, at and below it
+     */
+    private static long axisBelow(int position) {
+        long axis = (position & 1) == 1 ? LONGITUDE_BITS : LATITUDE_BITS;
+        return axis & ((2L << position) - 1);
+    }
+
+    private boolean inBox(long bits) {
+        return compare(bits & latitudeMask, min & latitudeMask) >= 0
+                && compare(bits & latitudeMask, max & latitudeMask) <= 0
+                && compare(bits & longitudeMask, min & longitudeMask) >= 0
+                && compare(bits & longitudeMask, max & longitudeMask) <= 0;
+    }
+
+    private static int compare(long bits, long other) {
+        long key = bits ^ Long.MIN_VALUE;
+        long otherKey = other ^ Long.MIN_VALUE;
+        return key < otherKey ? -1 : (key == otherKey ? 0 : 1);
+    }
+}
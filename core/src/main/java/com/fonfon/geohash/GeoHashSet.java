@@ -0,0 +1,376 @@
+package com.fonfon.geohash;
+
+import java.util.Arrays;
+
+import static com.fonfon.geohash.GeoHashUtils.BASE32_BITS;
+import static com.fonfon.geohash.GeoHashUtils.MAX_BIT_PRECISION;
+
+/**
+ * Immutable set of mixed precision geohashes stored as primitive arrays, sorted in Z-order.
+ * Hashes covered by a larger hash of the set are dropped, so the hashes never overlap and
+ * membership of a point or a hash of any precision is a single binary search.
+ */
+public final class GeoHashSet {
+
+    public static final GeoHashSet EMPTY = new GeoHashSet(new long[0], new byte[0]);
+
+    private final long[] bits;
+    private final byte[] significantBits;
+
+    private GeoHashSet(long[] bits, byte[] significantBits) {
+        this.bits = bits;
+        this.significantBits = significantBits;
+    }
+
+    /**
+     * @param bits hashes bits, same as {@link GeoHashCoverage#getBits(int)}
+     * @param significantBits hashes count of signification bits
+     * @return new {@link GeoHashSet}
+     */
+    public static GeoHashSet fromLongs(long[] bits, int[] significantBits) {
+        if (bits.length != significantBits.length) {
+            throw new IllegalArgumentException("Every hash needs its count of significant bits.");
+        }
+        long[] sortedBits = new long[bits.length];
+        byte[] sortedSignificantBits = new byte[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            GeoHashUtils.checkSignificantBits(significantBits[i]);
+            sortedBits[i] = bits[i] & GeoHashUtils.mask(significantBits[i]);
+            sortedSignificantBits[i] = (byte) significantBits[i];
+        }
+        return fromUnsorted(sortedBits, sortedSignificantBits);
+    }
+
+    /**
+     * @param geoHashes base32 hashes
+     * @return new {@link GeoHashSet}
+     */
+    public static GeoHashSet fromStrings(Iterable<? extends CharSequence> geoHashes) {
+        Builder builder = new Builder();
+        for (CharSequence geoHash : geoHashes) {
+            builder.append(GeoHashUtils.parseBits(geoHash), GeoHashUtils.parseSignificantBits(geoHash));
+        }
+        return fromUnsorted(Arrays.copyOf(builder.bits, builder.size),
+                Arrays.copyOf(builder.significantBits, builder.size));
+    }
+
+    /**
+     * @param coverage hashes covering an area
+     * @return new {@link GeoHashSet}
+     */
+    public static GeoHashSet fromCoverage(GeoHashCoverage coverage) {
+        Builder builder = new Builder();
+        for (int i = 0; i < coverage.size(); i++) {
+            builder.add(coverage.getBits(i), coverage.getSignificantBits(i));
+        }
+        return builder.build();
+    }
+
+    private static GeoHashSet fromUnsorted(long[] bits, byte[] significantBits) {
+        sort(bits, significantBits, bits.clone(), significantBits.clone(), 0, bits.length);
+        Builder builder = new Builder();
+        for (int i = 0; i < bits.length; i++) {
+            builder.add(bits[i], significantBits[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return count of hashes
+     */
+    public int size() {
+        return bits.length;
+    }
+
+    /**
+     * @return set has no hashes
+     */
+    public boolean isEmpty() {
+        return bits.length == 0;
+    }
+
+    /**
+     * @param index hash index
+     * @return hash bits
+     */
+    public long getBits(int index) {
+        return bits[index];
+    }
+
+    /**
+     * @param index hash index
+     * @return hash count of signification bits
+     */
+    public int getSignificantBits(int index) {
+        return significantBits[index];
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits hash count of signification bits
+     * @return index of the set hash equal to or containing the hash, or -1
+     */
+    public int indexOf(long bits, int significantBits) {
+        int index = floor(bits);
+        if (index >= 0 && this.significantBits[index] <= significantBits
+                && ((bits ^ this.bits[index]) & GeoHashUtils.mask(this.significantBits[index])) == 0) {
+            return index;
+        }
+        return -1;
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits hash count of signification bits
+     * @return hash is equal to or inside one of the set hashes
+     */
+    public boolean contains(long bits, int significantBits) {
+        return indexOf(bits, significantBits) >= 0;
+    }
+
+    /**
+     * @param geoHash base32 hash
+     * @return hash is equal to or inside one of the set hashes
+     */
+    public boolean contains(CharSequence geoHash) {
+        return contains(GeoHashUtils.parseBits(geoHash), GeoHashUtils.parseSignificantBits(geoHash));
+    }
+
+    /**
+     * @param latitude point latitude
+     * @param longitude point longitude
+     * @return point is in one of the set hashes
+     */
+    public boolean contains(double latitude, double longitude) {
+        return contains(GeoHashUtils.encode(latitude, longitude, MAX_BIT_PRECISION), MAX_BIT_PRECISION);
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits hash count of signification bits
+     * @return hash shares any area with the set hashes
+     */
+    public boolean intersects(long bits, int significantBits) {
+        // Hashes do not overlap, so only the last one starting inside the hash can reach it
+        int index = floor(end(bits, significantBits));
+        return index >= 0 && lessOrEqual(bits, end(this.bits[index], this.significantBits[index]));
+    }
+
+    /**
+     * @param other other set
+     * @return hashes covering the area of both sets
+     */
+    public GeoHashSet union(GeoHashSet other) {
+        Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < bits.length || j < other.bits.length) {
+            if (j == other.bits.length || (i < bits.length
+                    && compare(bits[i], significantBits[i], other.bits[j], other.significantBits[j]) <= 0)) {
+                builder.add(bits[i], significantBits[i]);
+                i++;
+            } else {
+                builder.add(other.bits[j], other.significantBits[j]);
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param other other set
+     * @return hashes covering the area shared by the sets
+     */
+    public GeoHashSet intersection(GeoHashSet other) {
+        Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < bits.length && j < other.bits.length) {
+            long end = end(bits[i], significantBits[i]);
+            long otherEnd = end(other.bits[j], other.significantBits[j]);
+            if (less(end, other.bits[j])) {
+                i++;
+            } else if (less(otherEnd, bits[i])) {
+                j++;
+            } else {
+                // Hashes are either nested or disjoint, so the overlap is the smaller hash
+                if (significantBits[i] >= other.significantBits[j]) {
+                    builder.add(bits[i], significantBits[i]);
+                } else {
+                    builder.add(other.bits[j], other.significantBits[j]);
+                }
+                if (lessOrEqual(end, otherEnd)) {
+                    i++;
+                }
+                if (lessOrEqual(otherEnd, end)) {
+                    j++;
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Hashes of this set without the area of the other set. Hashes partly covered by the other set
+     * are split into their uncovered parts, down to the other set precision.
+     *
+     * @param other other set
+     * @return hashes covering the area of this set only
+     */
+    public GeoHashSet difference(GeoHashSet other) {
+        Builder builder = new Builder();
+        int j = 0;
+        for (int i = 0; i < bits.length; i++) {
+            while (j < other.bits.length && less(end(other.bits[j], other.significantBits[j]), bits[i])) {
+                j++;
+            }
+            subtract(bits[i], significantBits[i], other, j, builder);
+        }
+        return builder.build();
+    }
+
+    private static void subtract(long bits, int significantBits, GeoHashSet other, int from, Builder builder) {
+        int j = from;
+        while (j < other.bits.length && less(end(other.bits[j], other.significantBits[j]), bits)) {
+            j++;
+        }
+        if (j == other.bits.length || less(end(bits, significantBits), other.bits[j])) {
+            builder.add(bits, significantBits);
+            return;
+        }
+        if (other.significantBits[j] <= significantBits) {
+            return;
+        }
+        // Split to the next base32 precision, so sets of base32 hashes stay printable
+        int step = Math.min(BASE32_BITS - significantBits % BASE32_BITS, MAX_BIT_PRECISION - significantBits);
+        int childBits = significantBits + step;
+        for (long child = 0; child < 1L << step; child++) {
+            subtract(bits | child << (MAX_BIT_PRECISION - childBits), childBits, other, j, builder);
+        }
+    }
+
+    /**
+     * Merge the hashes into ranges of hash ords at one precision, same as
+     * {@link GeoHashCoverage#toRanges(int)}
+     *
+     * @param significantBits count of signification bits of the ords, not less than any hash
+     *                        in the set and at most 62
+     * @return flat array of [start, end) pairs
+     */
+    public long[] toRanges(int significantBits) {
+        return GeoHashCoverage.toRanges(bits, this.significantBits, significantBits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        GeoHashSet that = (GeoHashSet) o;
+
+        return Arrays.equals(bits, that.bits) && Arrays.equals(significantBits, that.significantBits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(bits) + Arrays.hashCode(significantBits);
+    }
+
+    /**
+     * @return index of the last hash starting at or before the bits, or -1
+     */
+    private int floor(long bits) {
+        long key = bits ^ Long.MIN_VALUE;
+        int low = 0;
+        int high = this.bits.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if ((this.bits[middle] ^ Long.MIN_VALUE) <= key) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return last 64 bit hash inside the hash
+     */
+    private static long end(long bits, int significantBits) {
+        return bits | ~GeoHashUtils.mask(significantBits);
+    }
+
+    private static boolean less(long a, long b) {
+        return (a ^ Long.MIN_VALUE) < (b ^ Long.MIN_VALUE);
+    }
+
+    private static boolean lessOrEqual(long a, long b) {
+        return (a ^ Long.MIN_VALUE) <= (b ^ Long.MIN_VALUE);
+    }
+
+    /**
+     * Z-order, larger hashes first when hashes start at the same bits
+     */
+    private static int compare(long bits1, int significantBits1, long bits2, int significantBits2) {
+        if (bits1 != bits2) {
+            return less(bits1, bits2) ? -1 : 1;
+        }
+        return significantBits1 - significantBits2;
+    }
+
+    private static void sort(long[] bits, byte[] significantBits, long[] bufferBits, byte[] bufferSignificantBits,
+                             int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(bufferBits, bufferSignificantBits, bits, significantBits, from, middle);
+        sort(bufferBits, bufferSignificantBits, bits, significantBits, middle, to);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right == to || (left < middle && compare(bufferBits[left], bufferSignificantBits[left],
+                    bufferBits[right], bufferSignificantBits[right]) <= 0)) {
+                bits[i] = bufferBits[left];
+                significantBits[i] = bufferSignificantBits[left++];
+            } else {
+                bits[i] = bufferBits[right];
+                significantBits[i] = bufferSignificantBits[right++];
+            }
+        }
+    }
+
+    /**
+     * Collects hashes added in Z-order, dropping hashes inside the last added one
+     */
+    private static final class Builder {
+
+        private long[] bits = new long[16];
+        private byte[] significantBits = new byte[16];
+        private int size;
+
+        void add(long bits, int significantBits) {
+            if (size > 0 && lessOrEqual(bits, end(this.bits[size - 1], this.significantBits[size - 1]))) {
+                return;
+            }
+            append(bits, significantBits);
+        }
+
+        void append(long bits, int significantBits) {
+            if (size == this.bits.length) {
+                this.bits = Arrays.copyOf(this.bits, size * 2);
+                this.significantBits = Arrays.copyOf(this.significantBits, size * 2);
+            }
+            this.bits[size] = bits;
+            this.significantBits[size++] = (byte) significantBits;
+        }
+
+        GeoHashSet build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new GeoHashSet(Arrays.copyOf(bits, size), Arrays.copyOf(significantBits, size));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.fonfon.geohash;
+
+import static com.fonfon.geohash.GeoHashUtils.EARTH_RADIUS_METERS;
+import static com.fonfon.geohash.GeoHashUtils.MAX_BIT_PRECISION;
+
+/**
+ * Hash box sizes in meters on a spherical earth, from tables built once: box height and width on
+ * the equator per bit precision, and the width scale per latitude band of one degree.
+ * Widths are taken on the band border nearest to the pole, so they are the smallest in the band.
+ * Lookups search the 65 precisions in 7 steps without any trigonometry.
+ */
+public final class GeoHashSizes {
+
+    private static final int LATITUDE_BANDS = 90;
+    private static final double METERS_PER_DEGREE = Math.toRadians(EARTH_RADIUS_METERS);
+    private static final double[] HEIGHTS = new double[MAX_BIT_PRECISION + 1];
+    private static final double[] EQUATOR_WIDTHS = new double[MAX_BIT_PRECISION + 1];
+    private static final double[] LATITUDE_SIZES = new double[MAX_BIT_PRECISION + 1];
+    private static final double[] LONGITUDE_SIZES = new double[MAX_BIT_PRECISION + 1];
+    private static final double[] WIDTH_SCALES = new double[LATITUDE_BANDS];
+
+    static {
+        for (int bits = 0; bits <= MAX_BIT_PRECISION; bits++) {
+            LATITUDE_SIZES[bits] = GeoHashUtils.latitudeSize(bits);
+            LONGITUDE_SIZES[bits] = GeoHashUtils.longitudeSize(bits);
+            HEIGHTS[bits] = LATITUDE_SIZES[bits] * METERS_PER_DEGREE;
+            EQUATOR_WIDTHS[bits] = LONGITUDE_SIZES[bits] * METERS_PER_DEGREE;
+        }
+        for (int band = 0; band < LATITUDE_BANDS; band++) {
+            WIDTH_SCALES[band] = Math.cos(Math.toRadians(band + 1));
+        }
+    }
+
+    private GeoHashSizes() {
+    }
+
+    /**
+     * @param significantBits count of signification bits
+     * @return hash box height in meters
+     */
+    public static double heightMeters(int significantBits) {
+        GeoHashUtils.checkSignificantBits(significantBits);
+        return HEIGHTS[significantBits];
+    }
+
+    /**
+     * @param latitude latitude in the box
+     * @param significantBits count of signification bits
+     * @return smallest hash box width in meters in the latitude band
+     */
+    public static double widthMeters(double latitude, int significantBits) {
+        GeoHashUtils.checkSignificantBits(significantBits);
+        return EQUATOR_WIDTHS[significantBits] * WIDTH_SCALES[band(latitude)];
+    }
+
+    /**
+     * Finest precision of hashes at least radiusMeters high and wide at the latitude, the
+     * precision where searching the hash of a center and its 8 adjacent hashes covers the radius
+     *
+     * @param latitude center latitude
+     * @param radiusMeters radius in meters
+     * @return count of signification bits, 0 for a radius larger than any hash
+     */
+    public static int precisionForRadius(double latitude, double radiusMeters) {
+        if (!(radiusMeters >= 0)) {
+            throw new IllegalArgumentException("A radius can not be negative.");
+        }
+        double scale = WIDTH_SCALES[band(latitude)];
+        // Both sizes shrink with precision, so search the last one fitting the radius
+        int low = 0;
+        int high = MAX_BIT_PRECISION;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (HEIGHTS[middle] >= radiusMeters && EQUATOR_WIDTHS[middle] * scale >= radiusMeters) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finest precision whose hashes intersecting the box are at most maxCells. A box with the
+     * min longitude greater than the max longitude crosses the 180th meridian.
+     *
+     * @param minLatitude box min latitude
+     * @param maxLatitude box max latitude
+     * @param minLongitude box min longitude
+     * @param maxLongitude box max longitude
+     * @param maxCells max count of hashes, at least 1
+     * @return count of signification bits
+     */
+    public static int precisionForViewport(double minLatitude, double maxLatitude,
+                                           double minLongitude, double maxLongitude, int maxCells) {
+        if (maxCells < 1) {
+            throw new IllegalArgumentException("A viewport needs at least one cell.");
+        }
+        double latitudeSpan = Math.abs(maxLatitude - minLatitude);
+        double longitudeSpan = maxLongitude - minLongitude;
+        if (longitudeSpan < 0) {
+            longitudeSpan += 2 * GeoHashUtils.LONGITUDE_MAX_ABS;
+        }
+        // Counts only grow with precision, so search the last one within maxCells
+        int low = 0;
+        int high = MAX_BIT_PRECISION;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (maxCells(latitudeSpan, longitudeSpan, middle) <= maxCells) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Upper bound of the count of hashes intersecting a box: a span crosses at most
+     * ceil(span / size) + 1 hashes, and never more than the hashes of the axis
+     */
+    private static double maxCells(double latitudeSpan, double longitudeSpan, int significantBits) {
+        double rows = Math.min(Math.ceil(latitudeSpan / LATITUDE_SIZES[significantBits]) + 1,
+                2 * GeoHashUtils.LATITUDE_MAX_ABS / LATITUDE_SIZES[significantBits]);
+        double columns = Math.min(Math.ceil(longitudeSpan / LONGITUDE_SIZES[significantBits]) + 1,
+                2 * GeoHashUtils.LONGITUDE_MAX_ABS / LONGITUDE_SIZES[significantBits]);
+        return rows * columns;
+    }
+
+    private static int band(double latitude) {
+        return Math.min((int) Math.abs(latitude), LATITUDE_BANDS - 1);
+    }
+}
@@ -0,0 +1,805 @@
+package com.fonfon.geohash;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Primitive geohash math. Hashes are represented by their bits and the count of significant bits:
+ * the significant bits are left aligned in a long, longitude bit first.
+ */
+public final class GeoHashUtils {
+
+    public static final int MAX_CHARACTER_PRECISION = 12;
+    public static final double LATITUDE_MAX_ABS = 90.0;
+    public static final double LONGITUDE_MAX_ABS = 180.0;
+    public static final int MAX_BIT_PRECISION = 64;
+    public static final int BASE32_BITS = 5;
+    public static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    public static final double EARTH_RADIUS_METERS = 6371008.8;
+
+    private static final double CELLS_PER_AXIS = 1L << 32;
+    private static final double LATITUDE_UNIT = 2 * LATITUDE_MAX_ABS / CELLS_PER_AXIS;
+    private static final double LONGITUDE_UNIT = 2 * LONGITUDE_MAX_ABS / CELLS_PER_AXIS;
+    private static final int CELL_BITS = 32;
+    private static final long MAX_CELL = 0x00000000ffffffffL;
+    private static final long LONGITUDE_BITS = 0xaaaaaaaaaaaaaaaaL;
+    private static final long LATITUDE_BITS = 0x5555555555555555L;
+    private static final byte[] DECODE_TABLE = new byte[128];
+    private static final char[] BASE32_CHARS = BASE32.toCharArray();
+    private static final char BITS_SEPARATOR = ':';
+
+    static {
+        for (int i = 0; i < DECODE_TABLE.length; i++) {
+            DECODE_TABLE[i] = -1;
+        }
+        for (int i = 0; i < BASE32.length(); i++) {
+            DECODE_TABLE[BASE32.charAt(i)] = (byte) i;
+        }
+    }
+
+    private GeoHashUtils() {
+    }
+
+    /**
+     * Encode coordinates without allocating
+     *
+     * @param latitude double latitude
+     * @param longitude double longitude
+     * @param significantBits count of signification bits - 64
+     * @return hash bits, left aligned
+     */
+    public static long encode(double latitude, double longitude, int significantBits) {
+        checkSignificantBits(significantBits);
+        long latitudeBits = quantize(latitude, LATITUDE_MAX_ABS);
+        long longitudeBits = quantize(longitude, LONGITUDE_MAX_ABS);
+        return ((spread(longitudeBits) << 1) | spread(latitudeBits)) & mask(significantBits);
+    }
+
+    /**
+     * Encode coordinates column at a time, without allocating. The loop body is branch free
+     * straight line math, so the JIT can unroll it and keep the pipeline full over long columns.
+     *
+     * @param latitudes latitudes column
+     * @param longitudes longitudes column, at least as long as latitudes
+     * @param significantBits count of signification bits - 64
+     * @param dst hash bits column, at least as long as latitudes
+     */
+    public static void encodeBatch(double[] latitudes, double[] longitudes, int significantBits, long[] dst) {
+        checkBatch(latitudes.length, longitudes.length, dst.length);
+        encodeBatch(latitudes, 0, longitudes, 0, significantBits, dst, 0, latitudes.length);
+    }
+
+    /**
+     * Encode the remaining coordinates of the buffers, moving their positions past them
+     *
+     * @param latitudes latitudes column
+     * @param longitudes longitudes column, at least as many remaining as latitudes
+     * @param significantBits count of signification bits - 64
+     * @param dst hash bits column, at least as many remaining as latitudes
+     */
+    public static void encodeBatch(DoubleBuffer latitudes, DoubleBuffer longitudes, int significantBits, LongBuffer dst) {
+        int length = latitudes.remaining();
+        checkBatch(length, longitudes.remaining(), dst.remaining());
+        checkSignificantBits(significantBits);
+        if (latitudes.hasArray() && longitudes.hasArray() && dst.hasArray()) {
+            encodeBatch(latitudes.array(), latitudes.arrayOffset() + latitudes.position(),
+                    longitudes.array(), longitudes.arrayOffset() + longitudes.position(),
+                    significantBits, dst.array(), dst.arrayOffset() + dst.position(), length);
+        } else {
+            long mask = mask(significantBits);
+            int latitudesStart = latitudes.position();
+            int longitudesStart = longitudes.position();
+            int dstStart = dst.position();
+            for (int i = 0; i < length; i++) {
+                long latitudeBits = quantize(latitudes.get(latitudesStart + i), LATITUDE_MAX_ABS);
+                long longitudeBits = quantize(longitudes.get(longitudesStart + i), LONGITUDE_MAX_ABS);
+                dst.put(dstStart + i, ((spread(longitudeBits) << 1) | spread(latitudeBits)) & mask);
+            }
+        }
+        latitudes.position(latitudes.position() + length);
+        longitudes.position(longitudes.position() + length);
+        dst.position(dst.position() + length);
+    }
+
+    static void encodeBatch(double[] latitudes, int latitudesOffset, double[] longitudes, int longitudesOffset,
+                            int significantBits, long[] dst, int dstOffset, int length) {
+        checkSignificantBits(significantBits);
+        long mask = mask(significantBits);
+        for (int i = 0; i < length; i++) {
+            long latitudeBits = quantize(latitudes[latitudesOffset + i], LATITUDE_MAX_ABS);
+            long longitudeBits = quantize(longitudes[longitudesOffset + i], LONGITUDE_MAX_ABS);
+            dst[dstOffset + i] = ((spread(longitudeBits) << 1) | spread(latitudeBits)) & mask;
+        }
+    }
+
+    /**
+     * Decode hash centers column at a time, without allocating
+     *
+     * @param hashes hash bits column
+     * @param significantBits count of signification bits of every hash
+     * @param latitudes center latitudes column, at least as long as hashes
+     * @param longitudes center longitudes column, at least as long as hashes
+     */
+    public static void decodeBatch(long[] hashes, int significantBits, double[] latitudes, double[] longitudes) {
+        checkBatch(hashes.length, latitudes.length, longitudes.length);
+        decodeBatch(hashes, 0, significantBits, latitudes, 0, longitudes, 0, hashes.length);
+    }
+
+    /**
+     * Decode hash centers of the remaining hashes, moving the buffer positions past them
+     *
+     * @param hashes hash bits column
+     * @param significantBits count of signification bits of every hash
+     * @param latitudes center latitudes column, at least as many remaining as hashes
+     * @param longitudes center longitudes column, at least as many remaining as hashes
+     */
+    public static void decodeBatch(LongBuffer hashes, int significantBits, DoubleBuffer latitudes, DoubleBuffer longitudes) {
+        int length = hashes.remaining();
+        checkBatch(length, latitudes.remaining(), longitudes.remaining());
+        checkSignificantBits(significantBits);
+        if (hashes.hasArray() && latitudes.hasArray() && longitudes.hasArray()) {
+            decodeBatch(hashes.array(), hashes.arrayOffset() + hashes.position(), significantBits,
+                    latitudes.array(), latitudes.arrayOffset() + latitudes.position(),
+                    longitudes.array(), longitudes.arrayOffset() + longitudes.position(), length);
+        } else {
+            long mask = mask(significantBits);
+            double halfHeight = latitudeSize(significantBits) / 2;
+            double halfWidth = longitudeSize(significantBits) / 2;
+            int hashesStart = hashes.position();
+            int latitudesStart = latitudes.position();
+            int longitudesStart = longitudes.position();
+            for (int i = 0; i < length; i++) {
+                long bits = hashes.get(hashesStart + i) & mask;
+                latitudes.put(latitudesStart + i, compact(bits) * LATITUDE_UNIT - LATITUDE_MAX_ABS + halfHeight);
+                longitudes.put(longitudesStart + i, compact(bits >>> 1) * LONGITUDE_UNIT - LONGITUDE_MAX_ABS + halfWidth);
+            }
+        }
+        hashes.position(hashes.position() + length);
+        latitudes.position(latitudes.position() + length);
+        longitudes.position(longitudes.position() + length);
+    }
+
+    private static void decodeBatch(long[] hashes, int hashesOffset, int significantBits,
+                                    double[] latitudes, int latitudesOffset,
+                                    double[] longitudes, int longitudesOffset, int length) {
+        checkSignificantBits(significantBits);
+        long mask = mask(significantBits);
+        double halfHeight = latitudeSize(significantBits) / 2;
+        double halfWidth = longitudeSize(significantBits) / 2;
+        for (int i = 0; i < length; i++) {
+            long bits = hashes[hashesOffset + i] & mask;
+            latitudes[latitudesOffset + i] = compact(bits) * LATITUDE_UNIT - LATITUDE_MAX_ABS + halfHeight;
+            longitudes[longitudesOffset + i] = compact(bits >>> 1) * LONGITUDE_UNIT - LONGITUDE_MAX_ABS + halfWidth;
+        }
+    }
+
+    private static void checkBatch(int length, int otherLength, int anotherLength) {
+        if (otherLength < length || anotherLength < length) {
+            throw new IllegalArgumentException("Batch columns are shorter than " + length + " values.");
+        }
+    }
+
+    /**
+     * Encode coordinates to base32 geohash string
+     *
+     * @param latitude double latitude
+     * @param longitude double longitude
+     * @param numberOfCharacters max characters count - 12
+     * @return geohash {@link String}
+     */
+    public static String encodeToString(double latitude, double longitude, int numberOfCharacters) {
+        checkNumberOfCharacters(numberOfCharacters);
+        int significantBits = numberOfCharacters * BASE32_BITS;
+        return toBase32(encode(latitude, longitude, significantBits), significantBits);
+    }
+
+    /**
+     * Decode base32 geohash, significant bits count is 5 * length
+     *
+     * @param geoHash geohash text
+     * @return hash bits, left aligned
+     */
+    public static long decode(CharSequence geoHash) {
+        return decode(geoHash, 0, geoHash.length());
+    }
+
+    /**
+     * Decode base32 geohash, significant bits count is 5 * length
+     *
+     * @param geoHash geohash text
+     * @param offset first character index
+     * @param length characters count - 12
+     * @return hash bits, left aligned
+     */
+    public static long decode(CharSequence geoHash, int offset, int length) {
+        checkNumberOfCharacters(length);
+        long bits = 0;
+        for (int i = 0; i < length; i++) {
+            bits = (bits << BASE32_BITS) | decodeCharacter(geoHash.charAt(offset + i));
+        }
+        return alignLeft(bits, length);
+    }
+
+    /**
+     * Decode base32 geohash, significant bits count is 5 * length
+     *
+     * @param geoHash geohash characters
+     * @param offset first character index
+     * @param length characters count - 12
+     * @return hash bits, left aligned
+     */
+    public static long decode(char[] geoHash, int offset, int length) {
+        checkNumberOfCharacters(length);
+        long bits = 0;
+        for (int i = 0; i < length; i++) {
+            bits = (bits << BASE32_BITS) | decodeCharacter(geoHash[offset + i]);
+        }
+        return alignLeft(bits, length);
+    }
+
+    /**
+     * Decode base32 geohash, significant bits count is 5 * length
+     *
+     * @param geoHash geohash ASCII bytes
+     * @param offset first byte index
+     * @param length characters count - 12
+     * @return hash bits, left aligned
+     */
+    public static long decode(byte[] geoHash, int offset, int length) {
+        checkNumberOfCharacters(length);
+        long bits = 0;
+        for (int i = 0; i < length; i++) {
+            bits = (bits << BASE32_BITS) | decodeCharacter(geoHash[offset + i] & 0xff);
+        }
+        return alignLeft(bits, length);
+    }
+
+    /**
+     * Text of a hash of any precision: a base32 character per 5 bits, then for precisions which
+     * are not a multiple of 5 a ':' and the 1 - 4 remaining bits as '0' and '1' digits,
+     * like "v12n8:11" for 27 bits. Hashes of whole characters are plain base32 geohashes.
+     *
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return geohash {@link String}
+     */
+    public static String toBase32(long bits, int significantBits) {
+        char[] chars = new char[textLength(significantBits)];
+        int characters = significantBits / BASE32_BITS;
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = textCharacter(bits, characters, i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Append the {@link #toBase32(long, int)} text without allocating
+     *
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param dst destination builder
+     * @return dst
+     */
+    public static StringBuilder appendBase32(long bits, int significantBits, StringBuilder dst) {
+        int length = textLength(significantBits);
+        int characters = significantBits / BASE32_BITS;
+        for (int i = 0; i < length; i++) {
+            dst.append(textCharacter(bits, characters, i));
+        }
+        return dst;
+    }
+
+    /**
+     * Append the {@link #toBase32(long, int)} text without allocating
+     *
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param dst destination appendable
+     * @return dst
+     * @throws IOException if dst throws it
+     */
+    public static Appendable appendBase32(long bits, int significantBits, Appendable dst) throws IOException {
+        int length = textLength(significantBits);
+        int characters = significantBits / BASE32_BITS;
+        for (int i = 0; i < length; i++) {
+            dst.append(textCharacter(bits, characters, i));
+        }
+        return dst;
+    }
+
+    /**
+     * Write the {@link #toBase32(long, int)} text as ASCII bytes without allocating
+     *
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param dst destination array
+     * @param offset first index in dst
+     * @return count of written bytes
+     */
+    public static int writeBase32(long bits, int significantBits, byte[] dst, int offset) {
+        int length = textLength(significantBits);
+        if (offset < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Cannot write " + length + " bytes at " + offset + ".");
+        }
+        int characters = significantBits / BASE32_BITS;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = (byte) textCharacter(bits, characters, i);
+        }
+        return length;
+    }
+
+    /**
+     * Write the {@link #toBase32(long, int)} text as ASCII bytes at the buffer position,
+     * moving it past them
+     *
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param dst destination buffer
+     * @return count of written bytes
+     */
+    public static int writeBase32(long bits, int significantBits, ByteBuffer dst) {
+        int length = textLength(significantBits);
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        int characters = significantBits / BASE32_BITS;
+        for (int i = 0; i < length; i++) {
+            dst.put((byte) textCharacter(bits, characters, i));
+        }
+        return length;
+    }
+
+    /**
+     * Parse the {@link #toBase32(long, int)} text of a hash of any precision
+     *
+     * @param geoHash geohash text
+     * @return hash bits, left aligned
+     */
+    public static long parseBits(CharSequence geoHash) {
+        int characters = parseCharacters(geoHash);
+        long bits = decode(geoHash, 0, characters);
+        for (int i = characters + 1; i < geoHash.length(); i++) {
+            char digit = geoHash.charAt(i);
+            if (digit != '0' && digit != '1') {
+                throw new IllegalArgumentException("Invalid geohash bit: " + digit);
+            }
+            bits |= (long) (digit - '0') << (MAX_BIT_PRECISION - 1 - characters * BASE32_BITS - (i - characters - 1));
+        }
+        return bits;
+    }
+
+    /**
+     * @param geoHash {@link #toBase32(long, int)} text of a hash of any precision
+     * @return count of signification bits
+     */
+    public static int parseSignificantBits(CharSequence geoHash) {
+        int characters = parseCharacters(geoHash);
+        int remainingBits = characters < geoHash.length() ? geoHash.length() - characters - 1 : 0;
+        return characters * BASE32_BITS + remainingBits;
+    }
+
+    /**
+     * @return count of base32 characters before the remaining bits, checking the text shape
+     */
+    private static int parseCharacters(CharSequence geoHash) {
+        int length = geoHash.length();
+        int characters = 0;
+        while (characters < length && geoHash.charAt(characters) != BITS_SEPARATOR) {
+            characters++;
+        }
+        checkNumberOfCharacters(characters);
+        if (characters < length) {
+            int remainingBits = length - characters - 1;
+            if (remainingBits < 1 || remainingBits >= BASE32_BITS
+                    || characters * BASE32_BITS + remainingBits > MAX_BIT_PRECISION) {
+                throw new IllegalArgumentException("A geohash can only end with 1..4 bits.");
+            }
+        }
+        return characters;
+    }
+
+    private static int textLength(int significantBits) {
+        checkSignificantBits(significantBits);
+        int remainingBits = significantBits % BASE32_BITS;
+        return significantBits / BASE32_BITS + (remainingBits == 0 ? 0 : 1 + remainingBits);
+    }
+
+    /**
+     * @param characters count of whole base32 characters of the hash
+     * @param index text character index
+     * @return base32 character, separator or bit digit
+     */
+    private static char textCharacter(long bits, int characters, int index) {
+        if (index < characters) {
+            return BASE32_CHARS[(int) ((bits << (index * BASE32_BITS)) >>> 59)];
+        }
+        if (index == characters) {
+            return BITS_SEPARATOR;
+        }
+        return (bits << (characters * BASE32_BITS + index - characters - 1)) < 0 ? '1' : '0';
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return right aligned latitude bits, significantBits / 2 of them
+     */
+    public static long latitudeBits(long bits, int significantBits) {
+        int latitudeBitsCount = significantBits / 2;
+        return compact(bits & mask(significantBits)) >>> (CELL_BITS - latitudeBitsCount);
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return right aligned longitude bits, (significantBits + 1) / 2 of them
+     */
+    public static long longitudeBits(long bits, int significantBits) {
+        int longitudeBitsCount = (significantBits + 1) / 2;
+        return compact((bits & mask(significantBits)) >>> 1) >>> (CELL_BITS - longitudeBitsCount);
+    }
+
+    /**
+     * Inverse of {@link #latitudeBits(long, int)} and {@link #longitudeBits(long, int)}
+     *
+     * @param latitudeBits right aligned latitude bits, significantBits / 2 of them
+     * @param longitudeBits right aligned longitude bits, (significantBits + 1) / 2 of them
+     * @param significantBits count of signification bits
+     * @return hash bits
+     */
+    public static long interleave(long latitudeBits, long longitudeBits, int significantBits) {
+        int latitudeBitsCount = significantBits / 2;
+        int longitudeBitsCount = (significantBits + 1) / 2;
+        long latitude = spread(latitudeBits << (CELL_BITS - latitudeBitsCount));
+        long longitude = spread(longitudeBits << (CELL_BITS - longitudeBitsCount));
+        return ((longitude << 1) | latitude) & mask(significantBits);
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return minimum hash box latitude
+     */
+    public static double minLatitude(long bits, int significantBits) {
+        return compact(bits & mask(significantBits)) * LATITUDE_UNIT - LATITUDE_MAX_ABS;
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return maximum hash box latitude
+     */
+    public static double maxLatitude(long bits, int significantBits) {
+        return minLatitude(bits, significantBits) + latitudeSize(significantBits);
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return minimum hash box longitude
+     */
+    public static double minLongitude(long bits, int significantBits) {
+        return compact((bits & mask(significantBits)) >>> 1) * LONGITUDE_UNIT - LONGITUDE_MAX_ABS;
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return maximum hash box longitude
+     */
+    public static double maxLongitude(long bits, int significantBits) {
+        return minLongitude(bits, significantBits) + longitudeSize(significantBits);
+    }
+
+    /**
+     * @param significantBits count of signification bits
+     * @return hash box height in degrees
+     */
+    public static double latitudeSize(int significantBits) {
+        return 2 * LATITUDE_MAX_ABS / (1L << (significantBits / 2));
+    }
+
+    /**
+     * @param significantBits count of signification bits
+     * @return hash box width in degrees
+     */
+    public static double longitudeSize(int significantBits) {
+        return 2 * LONGITUDE_MAX_ABS / (1L << ((significantBits + 1) / 2));
+    }
+
+    /**
+     * Great-circle distance on a spherical earth
+     *
+     * @param latitude1 first point latitude
+     * @param longitude1 first point longitude
+     * @param latitude2 second point latitude
+     * @param longitude2 second point longitude
+     * @return distance in meters
+     */
+    public static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinLatitude * sinLatitude
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return N adjacent hash bits
+     */
+    public static long northernNeighbour(long bits, int significantBits) {
+        return increment(bits, LATITUDE_BITS & mask(significantBits));
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return S adjacent hash bits
+     */
+    public static long southernNeighbour(long bits, int significantBits) {
+        return decrement(bits, LATITUDE_BITS & mask(significantBits));
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return E adjacent hash bits
+     */
+    public static long easternNeighbour(long bits, int significantBits) {
+        return increment(bits, LONGITUDE_BITS & mask(significantBits));
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return W adjacent hash bits
+     */
+    public static long westernNeighbour(long bits, int significantBits) {
+        return decrement(bits, LONGITUDE_BITS & mask(significantBits));
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return 8 adjacent hash bits in the order:
+     * N, NE, E, SE, S, SW, W, NW
+     */
+    public static long[] adjacentLongs(long bits, int significantBits) {
+        long[] adjacent = new long[8];
+        adjacentLongs(bits, significantBits, adjacent, 0);
+        return adjacent;
+    }
+
+    /**
+     * Write 8 adjacent hash bits in the order:
+     * N, NE, E, SE, S, SW, W, NW
+     *
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param dst destination array
+     * @param offset first index in dst
+     */
+    public static void adjacentLongs(long bits, int significantBits, long[] dst, int offset) {
+        long mask = mask(significantBits);
+        long latitudeMask = LATITUDE_BITS & mask;
+        long longitudeMask = LONGITUDE_BITS & mask;
+        bits &= mask;
+        long northern = increment(bits, latitudeMask);
+        long southern = decrement(bits, latitudeMask);
+        dst[offset] = northern;
+        dst[offset + 1] = increment(northern, longitudeMask);
+        dst[offset + 2] = increment(bits, longitudeMask);
+        dst[offset + 3] = increment(southern, longitudeMask);
+        dst[offset + 4] = southern;
+        dst[offset + 5] = decrement(southern, longitudeMask);
+        dst[offset + 6] = decrement(bits, longitudeMask);
+        dst[offset + 7] = decrement(northern, longitudeMask);
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits of the ancestor, at most the hash bits
+     * @return ancestor hash bits
+     */
+    public static long ancestorAt(long bits, int significantBits) {
+        checkSignificantBits(significantBits);
+        return bits & mask(significantBits);
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param levelBits count of bits removed, at most significantBits
+     * @return parent hash bits, of significantBits - levelBits signification bits
+     */
+    public static long parent(long bits, int significantBits, int levelBits) {
+        if (levelBits < 0 || levelBits > significantBits) {
+            throw new IllegalArgumentException("A parent can only be 0.." + significantBits + " bits up.");
+        }
+        return ancestorAt(bits, significantBits - levelBits);
+    }
+
+    /**
+     * @param ancestor ancestor hash bits
+     * @param ancestorSignificantBits ancestor count of signification bits
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @return ancestor is a coarser hash containing the hash
+     */
+    public static boolean isAncestorOf(long ancestor, int ancestorSignificantBits, long bits, int significantBits) {
+        return ancestorSignificantBits < significantBits
+                && ((ancestor ^ bits) & mask(ancestorSignificantBits)) == 0;
+    }
+
+    /**
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param childSignificantBits children count of signification bits, at most 30 more
+     * @return 2^(childSignificantBits - significantBits) children hash bits in Z-order
+     */
+    public static long[] childrenLongs(long bits, int significantBits, int childSignificantBits) {
+        long[] children = new long[childrenCount(significantBits, childSignificantBits)];
+        childrenLongs(bits, significantBits, childSignificantBits, children, 0);
+        return children;
+    }
+
+    /**
+     * Write 2^(childSignificantBits - significantBits) children hash bits in Z-order
+     *
+     * @param bits hash bits
+     * @param significantBits count of signification bits
+     * @param childSignificantBits children count of signification bits, at most 30 more
+     * @param dst destination array
+     * @param offset first index in dst
+     */
+    public static void childrenLongs(long bits, int significantBits, int childSignificantBits,
+                                     long[] dst, int offset) {
+        int count = childrenCount(significantBits, childSignificantBits);
+        bits &= mask(significantBits);
+        if (count == 1) {
+            dst[offset] = bits;
+            return;
+        }
+        long step = 1L << (MAX_BIT_PRECISION - childSignificantBits);
+        for (int child = 0; child < count; child++) {
+            dst[offset + child] = bits;
+            bits += step;
+        }
+    }
+
+    private static int childrenCount(int significantBits, int childSignificantBits) {
+        checkSignificantBits(significantBits);
+        checkSignificantBits(childSignificantBits);
+        int levelBits = childSignificantBits - significantBits;
+        if (levelBits < 0 || levelBits > 30) {
+            throw new IllegalArgumentException("Children can only be 0..30 bits finer.");
+        }
+        return 1 << levelBits;
+    }
+
+    /**
+     * Add one to the dilated integer selected by axisMask, wrapping around at the precision.
+     * The bits of the other axis are set so the carry ripples through them.
+     */
+    private static long increment(long bits, long axisMask) {
+        long sum = (bits | ~axisMask) + Long.lowestOneBit(axisMask);
+        return (bits & ~axisMask) | (sum & axisMask);
+    }
+
+    /**
+     * Subtract one from the dilated integer selected by axisMask, wrapping around at the precision.
+     * The bits of the other axis are cleared so the borrow ripples through them.
+     */
+    private static long decrement(long bits, long axisMask) {
+        long difference = (bits & axisMask) - Long.lowestOneBit(axisMask);
+        return (bits & ~axisMask) | (difference & axisMask);
+    }
+
+    /**
+     * @param bits hash bits, insignificant bits cleared
+     * @param significantBits count of signification bits
+     * @return hash code of the hash, every bit of it depends on every hash bit
+     */
+    public static int hashCode(long bits, int significantBits) {
+        long mixed = mix(bits, significantBits);
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * Murmur3 finalizer of the bits, with the precision spread over all of them first
+     */
+    static long mix(long bits, int significantBits) {
+        long mixed = bits ^ (significantBits * 0x9e3779b97f4a7c15L);
+        mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return mixed ^ (mixed >>> 33);
+    }
+
+    /**
+     * @param significantBits count of signification bits
+     * @return mask of the left aligned significant bits
+     */
+    public static long mask(int significantBits) {
+        return significantBits == 0 ? 0 : 0xffffffffffffffffL << (MAX_BIT_PRECISION - significantBits);
+    }
+
+    private static long decodeCharacter(int character) {
+        int value = character < DECODE_TABLE.length ? DECODE_TABLE[character] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid geohash character: " + (char) character);
+        }
+        return value;
+    }
+
+    private static long alignLeft(long bits, int numberOfCharacters) {
+        return numberOfCharacters == 0 ? 0 : bits << (MAX_BIT_PRECISION - numberOfCharacters * BASE32_BITS);
+    }
+
+    /**
+     * Quantize a coordinate to the 32 bit cell index that the geohash range bisection selects.
+     * The cell boundaries are exact doubles, so the estimate is corrected against them and
+     * the result matches bisection bit for bit, including values on the boundaries.
+     */
+    private static long quantize(double value, double maxAbs) {
+        double unit = 2 * maxAbs / CELLS_PER_AXIS;
+        // Clamp the truncated estimate, truncation is floor for the clamped range, then correct it
+        // by one cell either way when rounding put the value across a cell boundary
+        long cell = Math.max(0, Math.min((long) ((value + maxAbs) / unit), MAX_CELL));
+        cell -= cell > 0 && value < cell * unit - maxAbs ? 1 : 0;
+        cell += cell < MAX_CELL && value >= (cell + 1) * unit - maxAbs ? 1 : 0;
+        return cell;
+    }
+
+    /**
+     * Spread the low 32 bits of value to the even bit positions
+     */
+    private static long spread(long value) {
+        value &= 0x00000000ffffffffL;
+        value = (value | (value << 16)) & 0x0000ffff0000ffffL;
+        value = (value | (value << 8)) & 0x00ff00ff00ff00ffL;
+        value = (value | (value << 4)) & 0x0f0f0f0f0f0f0f0fL;
+        value = (value | (value << 2)) & 0x3333333333333333L;
+        value = (value | (value << 1)) & 0x5555555555555555L;
+        return value;
+    }
+
+    /**
+     * Gather the even bit positions of value into the low 32 bits
+     */
+    private static long compact(long value) {
+        value &= 0x5555555555555555L;
+        value = (value | (value >>> 1)) & 0x3333333333333333L;
+        value = (value | (value >>> 2)) & 0x0f0f0f0f0f0f0f0fL;
+        value = (value | (value >>> 4)) & 0x00ff00ff00ff00ffL;
+        value = (value | (value >>> 8)) & 0x0000ffff0000ffffL;
+        value = (value | (value >>> 16)) & 0x00000000ffffffffL;
+        return value;
+    }
+
+    /**
+     * @param significantBits count of signification bits
+     * @throws IllegalArgumentException if it is not 0..64
+     */
+    public static void checkSignificantBits(int significantBits) {
+        if (significantBits < 0 || significantBits > MAX_BIT_PRECISION) {
+            throw new IllegalArgumentException(
+                    "A geohash can only have 0.." + MAX_BIT_PRECISION + " significant bits.");
+        }
+    }
+
+    /**
+     * @param numberOfCharacters characters count
+     * @throws IllegalArgumentException if it is not 0..12
+     */
+    public static void checkNumberOfCharacters(int numberOfCharacters) {
+        if (numberOfCharacters < 0 || numberOfCharacters > MAX_CHARACTER_PRECISION) {
+            throw new IllegalArgumentException(
+                    "A geohash can only be " + MAX_CHARACTER_PRECISION + " character long.");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.fonfon.geohash;
+
+/**
+ * Open addressing map from primitive longs to positive counts, with linear probing.
+ * Counts only grow, so an empty slot is a zero count and no key is reserved.
+ */
+final class LongCountMap extends LongHashTable {
+
+    private long[] counts;
+
+    LongCountMap() {
+        this(16);
+    }
+
+    LongCountMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    LongCountMap(LongCountMap other) {
+        super(other);
+        counts = other.counts.clone();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return count of the key, 0 if absent
+     */
+    long get(long key) {
+        for (int slot = slot(key * FIBONACCI); counts[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return counts[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param count positive count added to the key
+     */
+    void add(long key, long count) {
+        int slot = slot(key * FIBONACCI);
+        for (; counts[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                counts[slot] += count;
+                return;
+            }
+        }
+        checkRoom();
+        keys[slot] = key;
+        counts[slot] = count;
+        added();
+    }
+
+    /**
+     * @return count of slots, some of them empty
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return count in the slot, 0 for an empty slot
+     */
+    long countAt(int slot) {
+        return counts[slot];
+    }
+
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    @Override
+    long hashAt(int slot) {
+        return keys[slot] * FIBONACCI;
+    }
+
+    @Override
+    boolean isFree(int slot) {
+        return counts[slot] == 0;
+    }
+
+    @Override
+    void move(int from, int to) {
+        counts[to] = counts[from];
+    }
+
+    @Override
+    void free(int slot) {
+        counts[slot] = 0;
+    }
+
+    @Override
+    void allocate(int capacity) {
+        super.allocate(capacity);
+        counts = new long[capacity];
+    }
+
+    @Override
+    void grow(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = freeSlot(oldKeys[i] * FIBONACCI);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.fonfon.geohash;
+
+/**
+ * Open addressing table of primitive long keys, with linear probing and a power of two count of
+ * slots. The sizing, the probing and the backward shift deletion of the primitive maps live here,
+ * the maps only hold their per slot arrays and tell empty slots apart.
+ */
+abstract class LongHashTable {
+
+    /**
+     * Max count of slots, the largest power of two array length
+     */
+    static final int MAX_CAPACITY = 1 << 30;
+    /**
+     * Max count of entries, filling the max count of slots up to the load factor
+     */
+    static final int MAX_SIZE = MAX_CAPACITY / 4 * 3;
+    /**
+     * Fibonacci hashing multiplier, spreading keys which differ in their high bits only
+     */
+    static final long FIBONACCI = 0x9e3779b97f4a7c15L;
+
+    long[] keys;
+    int mask;
+    int size;
+    private int shift;
+
+    LongHashTable() {
+    }
+
+    LongHashTable(LongHashTable other) {
+        keys = other.keys.clone();
+        mask = other.mask;
+        size = other.size;
+        shift = other.shift;
+    }
+
+    /**
+     * @param expectedSize count of entries held without growing
+     * @return count of slots
+     */
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0 || expectedSize >= MAX_SIZE) {
+            throw new IllegalArgumentException("Expected size must be 0.." + (MAX_SIZE - 1) + ": " + expectedSize);
+        }
+        int capacity = 2;
+        while (threshold(capacity) <= expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * @return count of entries above which the slots grow
+     */
+    private static int threshold(int capacity) {
+        return (int) ((long) capacity * 3 / 4);
+    }
+
+    /**
+     * @return hash of the key in the slot, its high bits pick the home slot
+     */
+    abstract long hashAt(int slot);
+
+    /**
+     * @return slot holds no entry
+     */
+    abstract boolean isFree(int slot);
+
+    /**
+     * Move the entry values, the key is moved already
+     */
+    abstract void move(int from, int to);
+
+    /**
+     * Mark the slot empty, dropping references held by it
+     */
+    abstract void free(int slot);
+
+    /**
+     * Allocate the arrays of the count of slots, with every slot empty. Subclasses allocate
+     * their own arrays and call through.
+     */
+    void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /**
+     * Allocate the count of slots and put the entries of the old arrays back with
+     * {@link #freeSlot(long)}
+     */
+    abstract void grow(int capacity);
+
+    /**
+     * @return home slot of a hash
+     */
+    final int slot(long hash) {
+        return (int) (hash >>> shift);
+    }
+
+    /**
+     * @return first empty slot at or after the home slot of a hash, for a key known to be absent
+     */
+    final int freeSlot(long hash) {
+        int slot = slot(hash);
+        while (!isFree(slot)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Check an entry can be put in an empty slot, before putting it
+     */
+    final void checkRoom() {
+        if (size == MAX_SIZE) {
+            throw new IllegalStateException("Map can hold at most " + MAX_SIZE + " entries.");
+        }
+    }
+
+    /**
+     * Count an entry just put in an empty slot, growing the slots past the load factor
+     */
+    final void added() {
+        if (++size > threshold(keys.length) && keys.length < MAX_CAPACITY) {
+            grow(keys.length << 1);
+        }
+    }
+
+    /**
+     * Remove the entry of the slot, filling it with the following entries which can not be found
+     * past it anymore
+     */
+    final void removeAt(int removed) {
+        int free = removed;
+        for (int slot = (free + 1) & mask; !isFree(slot); slot = (slot + 1) & mask) {
+            int home = slot(hashAt(slot));
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                keys[free] = keys[slot];
+                move(slot, free);
+                free = slot;
+            }
+        }
+        free(free);
+        size--;
+    }
+}
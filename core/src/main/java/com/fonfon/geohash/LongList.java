@@ -0,0 +1,51 @@
+package com.fonfon.geohash;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive longs
+ */
+final class LongList {
+
+    private long[] values;
+    private int size;
+
+    LongList() {
+        this(16);
+    }
+
+    LongList(int capacity) {
+        values = new long[Math.max(capacity, 1)];
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    void set(int index, long value) {
+        values[index] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,120 @@
+package com.fonfon.geohash;
+
+/**
+ * Open addressing map from primitive longs to non null values, with linear probing.
+ * Geohash keys differ in their high bits only, so slots are picked by Fibonacci hashing.
+ */
+final class LongObjectMap<V> extends LongHashTable {
+
+    private Object[] values;
+
+    LongObjectMap() {
+        this(16);
+    }
+
+    LongObjectMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int slot = slot(key * FIBONACCI); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        int slot = slot(key * FIBONACCI);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        checkRoom();
+        keys[slot] = key;
+        values[slot] = value;
+        added();
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        for (int slot = slot(key * FIBONACCI); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                removeAt(slot);
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return count of slots, some of them empty
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return value in the slot or null
+     */
+    @SuppressWarnings("unchecked")
+    V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    @Override
+    long hashAt(int slot) {
+        return keys[slot] * FIBONACCI;
+    }
+
+    @Override
+    boolean isFree(int slot) {
+        return values[slot] == null;
+    }
+
+    @Override
+    void move(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void free(int slot) {
+        values[slot] = null;
+    }
+
+    @Override
+    void allocate(int capacity) {
+        super.allocate(capacity);
+        values = new Object[capacity];
+    }
+
+    @Override
+    void grow(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = freeSlot(oldKeys[i] * FIBONACCI);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
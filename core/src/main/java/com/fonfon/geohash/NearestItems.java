@@ -0,0 +1,94 @@
+package com.fonfon.geohash;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded max-heap of the nearest items found so far
+ */
+final class NearestItems<T> {
+
+    private final int count;
+    private final double[] distances;
+    private final Object[] items;
+    private int size;
+
+    NearestItems(int count) {
+        this.count = Math.max(count, 0);
+        distances = new double[this.count];
+        items = new Object[this.count];
+    }
+
+    boolean isFull() {
+        return size == count;
+    }
+
+    /**
+     * @return distance of the farthest item, the one to be replaced by a nearer item
+     */
+    double farthest() {
+        return distances[0];
+    }
+
+    void offer(double distance, T item) {
+        if (size < count) {
+            siftUp(size++, distance, item);
+        } else if (count > 0 && distance < distances[0]) {
+            siftDown(0, distance, item);
+        }
+    }
+
+    private void siftUp(int index, double distance, Object item) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (distances[parent] >= distance) {
+                break;
+            }
+            distances[index] = distances[parent];
+            items[index] = items[parent];
+            index = parent;
+        }
+        distances[index] = distance;
+        items[index] = item;
+    }
+
+    private void siftDown(int index, double distance, Object item) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && distances[child + 1] > distances[child]) {
+                child++;
+            }
+            if (distances[child] <= distance) {
+                break;
+            }
+            distances[index] = distances[child];
+            items[index] = items[child];
+            index = child;
+        }
+        distances[index] = distance;
+        items[index] = item;
+    }
+
+    /**
+     * Empty the heap
+     *
+     * @return items sorted by distance, nearest first
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toList() {
+        Object[] result = new Object[size];
+        // Pop the farthest item to the end until the heap is empty
+        while (size > 0) {
+            double distance = distances[--size];
+            Object item = items[size];
+            result[size] = items[0];
+            if (size > 0) {
+                siftDown(0, distance, item);
+            }
+        }
+        return (List<T>) Arrays.asList(result);
+    }
+}
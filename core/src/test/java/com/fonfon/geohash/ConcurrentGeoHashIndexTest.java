@@ -0,0 +1,155 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentGeoHashIndexTest {
+
+    private static final double LATITUDE = 53.2030476;
+    private static final double LONGITUDE = 45.0324948;
+    private static final int PARKED = 1000;
+    private static final int WRITERS = 6;
+    private static final int MOVERS = 300;
+    private static final int READERS = 3;
+
+    @Test
+    public void singleThreadTest() throws Exception {
+        ConcurrentGeoHashIndex<String> index = new ConcurrentGeoHashIndex<String>();
+        assertTrue(index.insert("center", LATITUDE, LONGITUDE));
+        assertTrue(index.insert("near", LATITUDE + 0.001, LONGITUDE));
+        assertTrue(index.insert("far", LATITUDE + 0.05, LONGITUDE));
+        assertFalse(index.insert("center", 0, 0));
+        assertEquals(index.size(), 3);
+        assertEquals(new HashSet<String>(index.searchRadius(LATITUDE, LONGITUDE, 200)),
+                new HashSet<String>(Arrays.asList("center", "near")));
+        assertEquals(index.searchNearest(LATITUDE + 0.002, LONGITUDE, 2), Arrays.asList("near", "center"));
+        assertTrue(index.update("far", LATITUDE, LONGITUDE + 0.0001));
+        assertEquals(index.searchRadius(LATITUDE, LONGITUDE, 200).size(), 3);
+        assertTrue(index.remove("far"));
+        assertFalse(index.remove("far"));
+        assertFalse(index.update("far", 0, 0));
+        assertEquals(index.searchRadius(LATITUDE, LONGITUDE, 200).size(), 2);
+    }
+
+    @Test
+    public void searchNearestHugeCountTest() throws Exception {
+        ConcurrentGeoHashIndex<String> index = new ConcurrentGeoHashIndex<String>();
+        assertTrue(index.searchNearest(LATITUDE, LONGITUDE, 500000000).isEmpty());
+        index.insert("center", LATITUDE, LONGITUDE);
+        index.insert("near", LATITUDE + 0.001, LONGITUDE);
+        assertEquals(index.searchNearest(LATITUDE, LONGITUDE, Integer.MAX_VALUE), Arrays.asList("center", "near"));
+        assertEquals(index.searchNearest(1, 1, Integer.MAX_VALUE).size(), 2);
+    }
+
+    /**
+     * Writers move items in and out of the searched circle while readers search it. Parked items
+     * never move, so every search must find each of them exactly once.
+     */
+    @Test
+    public void stressTest() throws Exception {
+        final ConcurrentGeoHashIndex<Integer> index = new ConcurrentGeoHashIndex<Integer>(35);
+        final double radius = 2000;
+        Random random = new Random(14);
+        for (int i = 0; i < PARKED; i++) {
+            index.insert(i, LATITUDE + (random.nextDouble() - 0.5) * 0.02, LONGITUDE + (random.nextDouble() - 0.5) * 0.02);
+        }
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final double[][] finalPositions = new double[WRITERS * MOVERS][];
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int w = 0; w < WRITERS; w++) {
+            final int writer = w;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Random random = new Random(writer);
+                        start.await();
+                        for (int step = 0; running.get() || step < 10000; step++) {
+                            int mover = writer * MOVERS + random.nextInt(MOVERS);
+                            Integer item = PARKED + mover;
+                            double latitude = LATITUDE + (random.nextDouble() - 0.5) * 0.1;
+                            double longitude = LONGITUDE + (random.nextDouble() - 0.5) * 0.1;
+                            if (random.nextInt(10) == 0) {
+                                index.remove(item);
+                                finalPositions[mover] = null;
+                            } else {
+                                if (!index.update(item, latitude, longitude)) {
+                                    assertTrue(index.insert(item, latitude, longitude));
+                                }
+                                finalPositions[mover] = new double[]{latitude, longitude};
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            }));
+        }
+        for (int r = 0; r < READERS; r++) {
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        while (running.get()) {
+                            List<Integer> found = index.searchRadius(LATITUDE, LONGITUDE, radius);
+                            Set<Integer> unique = new HashSet<Integer>(found);
+                            assertEquals(found.size(), unique.size());
+                            int parked = 0;
+                            for (Integer item : found) {
+                                if (item < PARKED) {
+                                    parked++;
+                                }
+                            }
+                            assertEquals(parked, PARKED);
+                            List<Integer> nearest = index.searchNearest(LATITUDE, LONGITUDE, 50);
+                            assertEquals(nearest.size(), new HashSet<Integer>(nearest).size());
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        Thread.sleep(1000);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+
+        // Quiescent: searches are exact again
+        Set<Integer> expected = new HashSet<Integer>();
+        for (int i = 0; i < PARKED; i++) {
+            expected.add(i);
+        }
+        for (int mover = 0; mover < finalPositions.length; mover++) {
+            double[] position = finalPositions[mover];
+            if (position != null
+                    && GeoHashUtils.distance(LATITUDE, LONGITUDE, position[0], position[1]) <= radius) {
+                expected.add(PARKED + mover);
+            }
+        }
+        assertEquals(new HashSet<Integer>(index.searchRadius(LATITUDE, LONGITUDE, radius)), expected);
+    }
+}
@@ -0,0 +1,75 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class GeoHashAggregatorTest {
+
+    @Test
+    public void addTest() throws Exception {
+        GeoHashAggregator aggregator = new GeoHashAggregator(4, 7);
+        aggregator.add(GeoHashUtils.decode("v12n8tr"), 35);
+        aggregator.add(GeoHashUtils.decode("v12n8tq"), 35, 2);
+        aggregator.add(GeoHashUtils.decode("v12n9zzz"), 40);
+        aggregator.add(GeoHashUtils.decode("u000000"), 35, 0);
+        assertEquals(aggregator.getTotal(), 4);
+        assertEquals(aggregator.getCount("v12n8tr"), 1);
+        assertEquals(aggregator.getCount("v12n8tq"), 2);
+        assertEquals(aggregator.getCount("v12n8t"), 3);
+        assertEquals(aggregator.getCount("v12n8"), 3);
+        assertEquals(aggregator.getCount("v12n"), 4);
+        assertEquals(aggregator.getCount("u000"), 0);
+        assertEquals(aggregator.size(35), 3);
+        assertEquals(aggregator.size(20), 1);
+        assertArrayEquals(aggregator.getBits(25),
+                new long[]{GeoHashUtils.decode("v12n8"), GeoHashUtils.decode("v12n9")});
+        assertArrayEquals(aggregator.getCounts(25), new long[]{3, 1});
+    }
+
+    @Test
+    public void rollUpTest() throws Exception {
+        Random random = new Random(18);
+        GeoHashAggregator aggregator = new GeoHashAggregator(0, 7);
+        for (int i = 0; i < 10000; i++) {
+            aggregator.add(random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5);
+        }
+        for (int numberOfCharacters = 0; numberOfCharacters <= 7; numberOfCharacters++) {
+            long sum = 0;
+            for (long count : aggregator.getCounts(numberOfCharacters * 5)) {
+                sum += count;
+            }
+            assertEquals(sum, 10000);
+        }
+        assertEquals(aggregator.getCount(""), 10000);
+    }
+
+    @Test
+    public void mergeTest() throws Exception {
+        GeoHashAggregator first = new GeoHashAggregator(4, 6);
+        GeoHashAggregator second = new GeoHashAggregator(5, 7);
+        first.add(GeoHashUtils.decode("v12n8t"), 30);
+        second.add(GeoHashUtils.decode("v12n8tr"), 35, 5);
+        GeoHashAggregator snapshot = first.snapshot();
+        first.merge(second);
+        assertEquals(first.getCount("v12n8t"), 6);
+        assertEquals(first.getCount("v12n"), 6);
+        assertEquals(first.getTotal(), 6);
+        assertEquals(snapshot.getCount("v12n8t"), 1);
+        first.merge(first);
+        assertEquals(first.getCount("v12n"), 12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeCoarserTest() throws Exception {
+        new GeoHashAggregator(5, 7).merge(new GeoHashAggregator(4, 6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notAggregatedTest() throws Exception {
+        new GeoHashAggregator(4, 7).getCount("v12");
+    }
+}
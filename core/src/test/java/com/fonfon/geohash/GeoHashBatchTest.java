@@ -0,0 +1,69 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class GeoHashBatchTest {
+
+    private static final int POINTS = 100000;
+
+    private static double[][] points() {
+        Random random = new Random(16);
+        double[][] points = new double[2][POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            points[0][i] = random.nextDouble() * 180 - 90;
+            points[1][i] = random.nextDouble() * 360 - 180;
+        }
+        return points;
+    }
+
+    private static long[] sortedUnsigned(long[] hashes) {
+        long[] sorted = new long[hashes.length];
+        for (int i = 0; i < hashes.length; i++) {
+            sorted[i] = hashes[i] ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] ^= Long.MIN_VALUE;
+        }
+        return sorted;
+    }
+
+    @Test
+    public void encodeTest() throws Exception {
+        double[][] points = points();
+        long[] hashes = GeoHashBatch.encode(new ForkJoinPool(4), points[0], points[1], 60);
+        assertEquals(hashes.length, POINTS);
+        for (int i = 0; i < POINTS; i++) {
+            assertEquals(hashes[i], GeoHashUtils.encode(points[0][i], points[1][i], 60));
+        }
+    }
+
+    @Test
+    public void encodeSortedTest() throws Exception {
+        double[][] points = points();
+        long[] hashes = GeoHashBatch.encode(points[0], points[1], 64);
+        assertArrayEquals(GeoHashBatch.encodeSorted(new ForkJoinPool(4), points[0], points[1], 64), sortedUnsigned(hashes));
+        assertArrayEquals(GeoHashBatch.encodeSorted(new double[0], new double[0], 64), new long[0]);
+    }
+
+    @Test
+    public void sortTest() throws Exception {
+        double[][] points = points();
+        long[] hashes = GeoHashBatch.encode(points[0], points[1], 35);
+        long[] expected = sortedUnsigned(hashes);
+        GeoHashBatch.sort(new ForkJoinPool(3), hashes);
+        assertArrayEquals(hashes, expected);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void differentLengthsTest() throws Exception {
+        GeoHashBatch.encode(new double[2], new double[3], 60);
+    }
+}
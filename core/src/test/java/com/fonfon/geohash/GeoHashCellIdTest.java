@@ -0,0 +1,89 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashCellIdTest {
+
+    @Test
+    public void packTest() throws Exception {
+        long id = GeoHashCellId.fromBase32("v12n8");
+        assertEquals(GeoHashCellId.bits(id), GeoHashUtils.decode("v12n8"));
+        assertEquals(GeoHashCellId.significantBits(id), 25);
+        assertEquals(GeoHashCellId.toBase32(id), "v12n8");
+        assertTrue(GeoHashCellId.fromBase32("9") != GeoHashCellId.fromBase32("90"));
+        assertEquals(GeoHashCellId.fromBits(0, 0), Long.MIN_VALUE);
+        assertEquals(GeoHashCellId.significantBits(GeoHashCellId.fromBits(-1L, 63)), 63);
+        assertEquals(GeoHashCellId.bits(GeoHashCellId.fromBits(-1L, 63)), -2L);
+    }
+
+    @Test
+    public void navigationTest() throws Exception {
+        long id = GeoHashCellId.fromBase32("v12n8");
+        assertEquals(GeoHashCellId.parent(id, 5), GeoHashCellId.fromBase32("v12n"));
+        assertEquals(GeoHashCellId.parent(id, 25), GeoHashCellId.fromBits(0, 0));
+        assertEquals(GeoHashCellId.parent(GeoHashCellId.child(id, 1)), id);
+        assertEquals(GeoHashCellId.child(GeoHashCellId.child(id, 0), 1),
+                GeoHashCellId.fromBits(GeoHashCellId.bits(id) | (1L << 37), 27));
+        int index = 0;
+        long last = GeoHashCellId.childLast(id, 30);
+        for (long child = GeoHashCellId.childBegin(id, 30); ; child = GeoHashCellId.next(child)) {
+            assertEquals(GeoHashCellId.toBase32(child), "v12n8" + GeoHashUtils.BASE32.charAt(index++));
+            assertTrue(GeoHashCellId.contains(id, child));
+            if (child == last) {
+                break;
+            }
+        }
+        assertEquals(index, 32);
+        assertEquals(GeoHashCellId.prev(GeoHashCellId.fromBase32("v12n9")), id);
+        assertFalse(GeoHashCellId.contains(id, GeoHashCellId.fromBase32("v12n9")));
+        assertFalse(GeoHashCellId.contains(id, GeoHashCellId.fromBase32("v12n")));
+        assertTrue(GeoHashCellId.intersects(id, GeoHashCellId.fromBase32("v12n")));
+        assertFalse(GeoHashCellId.intersects(id, GeoHashCellId.fromBase32("v12p")));
+        long root = GeoHashCellId.fromBits(0, 0);
+        assertEquals(GeoHashCellId.childBegin(root, 5), GeoHashCellId.fromBase32("0"));
+        assertEquals(GeoHashCellId.childLast(root, 5), GeoHashCellId.fromBase32("z"));
+        assertEquals(GeoHashCellId.childBegin(root, 0), root);
+    }
+
+    @Test
+    public void orderTest() throws Exception {
+        Random random = new Random(22);
+        long[] ids = new long[10000];
+        for (int i = 0; i < ids.length; i++) {
+            int significantBits = random.nextInt(GeoHashCellId.MAX_SIGNIFICANT_BITS + 1);
+            ids[i] = GeoHashCellId.fromBits(random.nextLong(), significantBits) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(ids);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] ^= Long.MIN_VALUE;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            for (int j = i + 1; j < Math.min(ids.length, i + 50); j++) {
+                long first = ids[i];
+                long second = ids[j];
+                boolean contains = GeoHashCellId.contains(first, second) || GeoHashCellId.contains(second, first);
+                assertEquals(GeoHashCellId.intersects(first, second), contains);
+                if (!contains) {
+                    // Disjoint hashes sort by their bits
+                    assertTrue((GeoHashCellId.bits(first) ^ Long.MIN_VALUE) < (GeoHashCellId.bits(second) ^ Long.MIN_VALUE));
+                }
+                assertEquals(GeoHashCellId.contains(first, second),
+                        GeoHashUtils.isAncestorOf(GeoHashCellId.bits(first), GeoHashCellId.significantBits(first),
+                                GeoHashCellId.bits(second), GeoHashCellId.significantBits(second))
+                                || first == second);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyBitsTest() throws Exception {
+        GeoHashCellId.fromBits(0, 64);
+    }
+}
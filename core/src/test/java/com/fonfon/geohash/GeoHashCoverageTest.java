@@ -0,0 +1,219 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashCoverageTest {
+
+    @Test
+    public void worldTest() throws Exception {
+        GeoHashCoverage coverage = GeoHashCoverage.coverBoundingBox(-90, 90, -180, 180, 12, 100);
+        assertEquals(coverage.size(), 1);
+        assertEquals(coverage.getBits(0), 0L);
+        assertEquals(coverage.getSignificantBits(0), 0);
+    }
+
+    @Test
+    public void singleHashTest() throws Exception {
+        long bits = GeoHashUtils.decode("v12n8");
+        GeoHashCoverage coverage = GeoHashCoverage.coverBoundingBox(
+                GeoHashUtils.minLatitude(bits, 25), GeoHashUtils.maxLatitude(bits, 25),
+                GeoHashUtils.minLongitude(bits, 25), GeoHashUtils.maxLongitude(bits, 25), 12, 100);
+        assertEquals(coverage.size(), 1);
+        assertEquals(GeoHashUtils.toBase32(coverage.getBits(0), coverage.getSignificantBits(0)), "v12n8");
+    }
+
+    @Test
+    public void pointTest() throws Exception {
+        GeoHashCoverage coverage = GeoHashCoverage.coverBoundingBox(53.2030476, 53.2030476, 45.0324948, 45.0324948, 9, 10);
+        assertEquals(coverage.size(), 1);
+        assertEquals(GeoHashUtils.toBase32(coverage.getBits(0), coverage.getSignificantBits(0)), "v12n8trdj");
+    }
+
+    @Test
+    public void mixedPrecisionTest() throws Exception {
+        GeoHashCoverage coverage = GeoHashCoverage.coverBoundingBox(53.15, 53.25, 44.95, 45.1, 7, 500);
+        assertTrue(coverage.size() <= 500);
+        int minBits = Integer.MAX_VALUE;
+        int maxBits = 0;
+        for (int i = 0; i < coverage.size(); i++) {
+            minBits = Math.min(minBits, coverage.getSignificantBits(i));
+            maxBits = Math.max(maxBits, coverage.getSignificantBits(i));
+            if (i > 0) {
+                assertTrue((coverage.getBits(i - 1) ^ Long.MIN_VALUE) < (coverage.getBits(i) ^ Long.MIN_VALUE));
+            }
+        }
+        assertTrue(minBits < maxBits);
+        assertTrue(maxBits <= 35);
+    }
+
+    @Test
+    public void maxCellsTest() throws Exception {
+        for (int maxCells = 1; maxCells < 64; maxCells++) {
+            GeoHashCoverage coverage = GeoHashCoverage.coverBoundingBox(53.15, 53.25, 44.95, 45.1, 12, maxCells);
+            assertTrue(coverage.size() <= maxCells);
+        }
+    }
+
+    @Test
+    public void toRangesTest() throws Exception {
+        long bits = GeoHashUtils.decode("v12n8");
+        GeoHashCoverage coverage = GeoHashCoverage.coverBoundingBox(
+                GeoHashUtils.minLatitude(bits, 25), GeoHashUtils.maxLatitude(bits, 25),
+                GeoHashUtils.minLongitude(bits, 25), GeoHashUtils.maxLongitude(bits, 25), 12, 100);
+        long start = bits >>> (64 - 35);
+        assertArrayEquals(coverage.toRanges(35), new long[]{start, start + 1024});
+
+        coverage = GeoHashCoverage.coverBoundingBox(53.15, 53.25, 44.95, 45.1, 7, 500);
+        long[] ranges = coverage.toRanges(35);
+        long count = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            assertTrue(ranges[i] < ranges[i + 1]);
+            if (i > 0) {
+                assertTrue(ranges[i - 1] < ranges[i]);
+            }
+            count += ranges[i + 1] - ranges[i];
+        }
+        long expected = 0;
+        for (int i = 0; i < coverage.size(); i++) {
+            expected += 1L << (35 - coverage.getSignificantBits(i));
+        }
+        assertEquals(count, expected);
+        assertTrue(ranges.length / 2 < coverage.size());
+    }
+
+    @Test
+    public void circleTest() throws Exception {
+        double latitude = 53.2030476;
+        double longitude = 45.0324948;
+        GeoHashCoverage coverage = GeoHashCoverage.coverCircle(latitude, longitude, 1000, 64);
+        assertTrue(coverage.size() <= 64);
+        boolean center = false;
+        for (int i = 0; i < coverage.size(); i++) {
+            long bits = coverage.getBits(i);
+            int significantBits = coverage.getSignificantBits(i);
+            assertTrue(GeoHashUtils.latitudeSize(significantBits) * 111000 >= 250);
+            center |= GeoHashUtils.encode(latitude, longitude, significantBits) == bits;
+        }
+        assertTrue(center);
+    }
+
+    @Test
+    public void circleExcludesCornersTest() throws Exception {
+        long bits = GeoHashUtils.decode("v12n8");
+        double latitude = GeoHashUtils.minLatitude(bits, 25) + GeoHashUtils.latitudeSize(25) / 2;
+        double longitude = GeoHashUtils.minLongitude(bits, 25) + GeoHashUtils.longitudeSize(25) / 2;
+        double radius = GeoHashUtils.distance(latitude, longitude, latitude, GeoHashUtils.maxLongitude(bits, 25));
+        GeoHashCoverage coverage = GeoHashCoverage.coverCircle(latitude, longitude, radius * 0.99, 1000);
+        for (int i = 0; i < coverage.size(); i++) {
+            String hash = GeoHashUtils.toBase32(coverage.getBits(i), coverage.getSignificantBits(i));
+            assertTrue(hash, hash.startsWith("v12n8"));
+        }
+    }
+
+    @Test
+    public void circleAntipodalMeridianTest() throws Exception {
+        // The hash spans the antipodal meridian -170, its corners are nearer than its farthest point
+        long bits = GeoHashUtils.encode(0.1, -179.9, 10);
+        double radius = 19950000;
+        GeoHashCoverage.Circle circle = new GeoHashCoverage.Circle(0, 10, radius);
+        assertTrue(GeoHashUtils.distance(0, 10, 0, GeoHashUtils.minLongitude(bits, 10)) < radius);
+        assertTrue(GeoHashUtils.distance(0, 10, 0, GeoHashUtils.maxLongitude(bits, 10)) < radius);
+        assertTrue(GeoHashUtils.distance(0, 10, 0, -170) > radius);
+        assertFalse(circle.contains(bits, 10));
+        assertEquals(circle.classify(bits, 10), GeoHashCoverage.Region.BOUNDARY);
+    }
+
+    @Test
+    public void circleContainsTest() throws Exception {
+        // Radii of thousands of km, hashes are inside only if every point of them is
+        Random random = new Random(10);
+        for (int test = 0; test < 2000; test++) {
+            double latitude = random.nextDouble() * 160 - 80;
+            double longitude = random.nextDouble() * 360 - 180;
+            int significantBits = 4 + random.nextInt(7);
+            long bits = GeoHashUtils.encode(random.nextDouble() * 160 - 80, random.nextDouble() * 360 - 180,
+                    significantBits);
+            double minLatitude = GeoHashUtils.minLatitude(bits, significantBits);
+            double minLongitude = GeoHashUtils.minLongitude(bits, significantBits);
+            double height = GeoHashUtils.latitudeSize(significantBits);
+            double width = GeoHashUtils.longitudeSize(significantBits);
+            double corners = 0;
+            for (int corner = 0; corner < 4; corner++) {
+                corners = Math.max(corners, GeoHashUtils.distance(latitude, longitude,
+                        minLatitude + height * (corner & 1), minLongitude + width * (corner >> 1)));
+            }
+            GeoHashCoverage.Circle circle = new GeoHashCoverage.Circle(latitude, longitude, corners);
+            if (!circle.contains(bits, significantBits)) {
+                continue;
+            }
+            for (int i = 0; i <= 20; i++) {
+                for (int j = 0; j <= 20; j++) {
+                    double distance = GeoHashUtils.distance(latitude, longitude,
+                            minLatitude + height * i / 20, minLongitude + width * j / 20);
+                    assertTrue(distance <= corners * (1 + 1e-9));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void binarySplitTest() throws Exception {
+        double minLatitude = 53.15;
+        double maxLatitude = 53.25;
+        double minLongitude = 44.95;
+        double maxLongitude = 45.1;
+        GeoHashCoverage base32 = GeoHashCoverage.coverBoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude,
+                35, 5, 64);
+        GeoHashCoverage binary = GeoHashCoverage.coverBoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude,
+                35, 1, 64);
+        assertTrue(binary.size() <= 64);
+        boolean oddBits = false;
+        for (int i = 0; i < binary.size(); i++) {
+            oddBits |= binary.getSignificantBits(i) % 5 != 0;
+            assertTrue(binary.getSignificantBits(i) <= 35);
+        }
+        assertTrue(oddBits);
+        // Halving splits waste less area outside the box
+        assertTrue(area(binary) < area(base32));
+        GeoHashSet set = GeoHashSet.fromCoverage(binary);
+        for (double latitude = minLatitude; latitude < maxLatitude; latitude += 0.01) {
+            for (double longitude = minLongitude; longitude < maxLongitude; longitude += 0.01) {
+                assertTrue(set.contains(latitude, longitude));
+            }
+        }
+    }
+
+    @Test
+    public void binarySplitCircleTest() throws Exception {
+        GeoHashCoverage coverage = GeoHashCoverage.coverCircle(53.2030476, 45.0324948, 1000, 1, 100);
+        assertTrue(coverage.size() <= 100);
+        assertTrue(GeoHashSet.fromCoverage(coverage).contains(53.2030476, 45.0324948));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void levelBitsTest() throws Exception {
+        GeoHashCoverage.coverBoundingBox(53.15, 53.25, 44.95, 45.1, 35, 6, 64);
+    }
+
+    private static double area(GeoHashCoverage coverage) {
+        double area = 0;
+        for (int i = 0; i < coverage.size(); i++) {
+            int significantBits = coverage.getSignificantBits(i);
+            area += GeoHashUtils.latitudeSize(significantBits) * GeoHashUtils.longitudeSize(significantBits);
+        }
+        return area;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toRangesPrecisionTest() throws Exception {
+        GeoHashCoverage.coverBoundingBox(53.15, 53.25, 44.95, 45.1, 7, 500).toRanges(30);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashGroupsTest {
+
+    @Test
+    public void groupTest() throws Exception {
+        long[] hashes = {
+                GeoHashUtils.decode("v12n8trdj"),
+                GeoHashUtils.decode("u000"),
+                GeoHashUtils.decode("v12n9"),
+                GeoHashUtils.decode("v12n8zzzz"),
+                GeoHashUtils.decode("u0000")
+        };
+        GeoHashGroups groups = GeoHashGroups.group(hashes, 25);
+        assertEquals(groups.size(), 3);
+        assertEquals(GeoHashUtils.toBase32(groups.getBits(0), 25), "u0000");
+        assertEquals(GeoHashUtils.toBase32(groups.getBits(1), 25), "v12n8");
+        assertEquals(GeoHashUtils.toBase32(groups.getBits(2), 25), "v12n9");
+        assertEquals(groups.getCount(0), 2);
+        assertEquals(groups.getCount(1), 2);
+        assertEquals(groups.getCount(2), 1);
+        assertEquals(groups.getOffset(3), 5);
+        // Points of a hash keep their input order
+        assertEquals(groups.getPoint(0), 1);
+        assertEquals(groups.getPoint(1), 4);
+        assertEquals(groups.getPoint(2), 0);
+        assertEquals(groups.getPoint(3), 3);
+        assertEquals(groups.getPoint(4), 2);
+    }
+
+    @Test
+    public void emptyTest() throws Exception {
+        GeoHashGroups groups = GeoHashGroups.group(new long[0], 30);
+        assertEquals(groups.size(), 0);
+        assertEquals(groups.getOffset(0), 0);
+        groups = GeoHashGroups.group(new long[]{1, 2, 3}, 0);
+        assertEquals(groups.size(), 1);
+        assertEquals(groups.getCount(0), 3);
+    }
+
+    @Test
+    public void parallelTest() throws Exception {
+        Random random = new Random(17);
+        long[] hashes = new long[300000];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = GeoHashUtils.encode(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180, 64);
+        }
+        GeoHashGroups sequential = GeoHashGroups.group(hashes, 20);
+        GeoHashGroups parallel = GeoHashGroups.group(new ForkJoinPool(4), hashes, 20);
+        assertEquals(parallel.size(), sequential.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(parallel.getBits(i), sequential.getBits(i));
+            assertEquals(parallel.getOffset(i), sequential.getOffset(i));
+            if (i > 0) {
+                assertTrue((sequential.getBits(i - 1) ^ Long.MIN_VALUE) < (sequential.getBits(i) ^ Long.MIN_VALUE));
+            }
+        }
+        for (int i = 0; i < hashes.length; i++) {
+            assertEquals(parallel.getPoint(i), sequential.getPoint(i));
+        }
+    }
+}
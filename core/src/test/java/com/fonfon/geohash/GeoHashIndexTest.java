@@ -0,0 +1,93 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashIndexTest {
+
+    private static GeoHashIndex<String> index() {
+        GeoHashIndex<String> index = new GeoHashIndex<String>();
+        index.insert("center", 53.2030476, 45.0324948);
+        index.insert("near", 53.2040476, 45.0324948);
+        index.insert("far", 53.2530476, 45.0324948);
+        index.insert("antipode", -53.2030476, -134.9675052);
+        return index;
+    }
+
+    @Test
+    public void insertRemoveTest() throws Exception {
+        GeoHashIndex<String> index = index();
+        assertEquals(index.size(), 4);
+        assertFalse(index.insert("center", 0, 0));
+        assertTrue(index.remove("far"));
+        assertFalse(index.remove("far"));
+        assertFalse(index.contains("far"));
+        assertFalse(index.update("far", 0, 0));
+        assertEquals(index.size(), 3);
+        index.clear();
+        assertEquals(index.size(), 0);
+        assertTrue(index.searchRadius(53.2030476, 45.0324948, 1000).isEmpty());
+    }
+
+    @Test
+    public void searchRadiusTest() throws Exception {
+        GeoHashIndex<String> index = index();
+        assertEquals(new HashSet<String>(index.searchRadius(53.2030476, 45.0324948, 200)),
+                new HashSet<String>(Arrays.asList("center", "near")));
+        assertEquals(index.searchRadius(53.2030476, 45.0324948, 10000).size(), 3);
+        assertEquals(index.searchRadius(53.2030476, 45.0324948, 30000000).size(), 4);
+        assertTrue(index.searchRadius(0, 0, 1000).isEmpty());
+    }
+
+    @Test
+    public void searchNearestTest() throws Exception {
+        GeoHashIndex<String> index = index();
+        assertEquals(index.searchNearest(53.2050476, 45.0324948, 2), Arrays.asList("near", "center"));
+        assertEquals(index.searchNearest(53.2030476, 45.0324948, 10),
+                Arrays.asList("center", "near", "far", "antipode"));
+        assertEquals(index.searchNearest(-53, -135, 1), Arrays.asList("antipode"));
+    }
+
+    @Test
+    public void searchNearestHugeCountTest() throws Exception {
+        GeoHashIndex<String> index = index();
+        assertEquals(index.searchNearest(53.2030476, 45.0324948, Integer.MAX_VALUE),
+                Arrays.asList("center", "near", "far", "antipode"));
+        assertEquals(index.searchNearest(1, 1, Integer.MAX_VALUE).size(), 4);
+    }
+
+    @Test
+    public void searchNearestEmptyTest() throws Exception {
+        GeoHashIndex<String> index = new GeoHashIndex<String>();
+        assertTrue(index.searchNearest(53.2030476, 45.0324948, 500000000).isEmpty());
+        assertTrue(index().searchNearest(53.2030476, 45.0324948, 0).isEmpty());
+        assertTrue(index().searchNearest(53.2030476, 45.0324948, -1).isEmpty());
+    }
+
+    @Test
+    public void updateTest() throws Exception {
+        GeoHashIndex<String> index = index();
+        assertTrue(index.update("far", 53.2030476, 45.0334948));
+        assertTrue(index.update("near", 53.2030476, 45.0324949));
+        List<String> nearest = index.searchNearest(53.2030476, 45.0324948, 3);
+        assertEquals(nearest, Arrays.asList("center", "near", "far"));
+        assertTrue(index.update("center", 0, 0));
+        assertEquals(index.searchNearest(0.1, 0.1, 1), Arrays.asList("center"));
+    }
+
+    @Test
+    public void antimeridianTest() throws Exception {
+        GeoHashIndex<String> index = new GeoHashIndex<String>(40);
+        index.insert("east", 10, 179.9999);
+        index.insert("west", 10, -179.9999);
+        assertEquals(index.searchNearest(10, -179.99999, 2), Arrays.asList("west", "east"));
+        assertEquals(index.searchRadius(10, 179.99999, 100).size(), 2);
+    }
+}
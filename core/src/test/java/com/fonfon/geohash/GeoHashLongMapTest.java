@@ -0,0 +1,86 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashLongMapTest {
+
+    @Test
+    public void putGetTest() throws Exception {
+        GeoHashLongMap<String> map = new GeoHashLongMap<String>();
+        long bits = GeoHashUtils.decode("v12n8");
+        assertNull(map.put(bits, 25, "v12n8"));
+        assertNull(map.put(bits, 20, "v12n"));
+        assertNull(map.put(0, 0, ""));
+        assertEquals(map.put(bits | 1, 25, "other"), "v12n8");
+        assertEquals(map.size(), 3);
+        assertEquals(map.get(bits, 25), "other");
+        assertEquals(map.get(bits, 20), "v12n");
+        assertEquals(map.get(0, 0), "");
+        assertNull(map.get(bits, 30));
+        assertTrue(map.containsKey(bits, 20));
+        assertEquals(map.remove(bits, 20), "v12n");
+        assertFalse(map.containsKey(bits, 20));
+        assertNull(map.remove(bits, 20));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(bits, 25));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hugeExpectedSizeTest() throws Exception {
+        new GeoHashLongMap<String>(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void capacityTest() throws Exception {
+        assertEquals(LongHashTable.capacityFor(0), 2);
+        assertEquals(LongHashTable.capacityFor(12), 32);
+        assertEquals(LongHashTable.capacityFor(LongHashTable.MAX_SIZE - 1), LongHashTable.MAX_CAPACITY);
+    }
+
+    @Test
+    public void randomTest() throws Exception {
+        Random random = new Random(21);
+        GeoHashLongMap<Integer> map = new GeoHashLongMap<Integer>();
+        Map<String, Integer> expected = new HashMap<String, Integer>();
+        for (int i = 0; i < 200000; i++) {
+            int significantBits = random.nextInt(4) * 5;
+            long bits = GeoHashUtils.encode(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180,
+                    significantBits);
+            String key = GeoHashUtils.toBase32(bits, significantBits);
+            if (random.nextInt(3) == 0) {
+                assertEquals(map.remove(bits, significantBits), expected.remove(key));
+            } else {
+                assertEquals(map.put(bits, significantBits, i), expected.put(key, i));
+            }
+        }
+        assertEquals(map.size(), expected.size());
+        final int[] visited = new int[1];
+        final Map<String, Integer> finalExpected = expected;
+        map.forEach(new GeoHashLongMap.EntryVisitor<Integer>() {
+            @Override
+            public void visit(long bits, int significantBits, Integer value) {
+                assertEquals(value, finalExpected.get(GeoHashUtils.toBase32(bits, significantBits)));
+                visited[0]++;
+            }
+        });
+        assertEquals(visited[0], expected.size());
+    }
+
+    @Test
+    public void hashCodeTest() throws Exception {
+        long bits = GeoHashUtils.decode("v12n8");
+        assertEquals(GeoHashUtils.hashCode(bits, 25), GeoHashUtils.hashCode(bits, 25));
+        assertTrue(GeoHashUtils.hashCode(bits, 25) != GeoHashUtils.hashCode(bits, 30));
+        assertTrue(GeoHashUtils.hashCode(bits, 25) != GeoHashUtils.hashCode(GeoHashUtils.decode("v12n9"), 25));
+    }
+}
@@ -0,0 +1,54 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashPolygonCoverageTest {
+
+    private static final double[] LATITUDES = {53.15, 53.25, 53.20, 53.25, 53.15};
+    private static final double[] LONGITUDES = {44.95, 44.95, 45.02, 45.10, 45.10};
+
+    @Test
+    public void interiorAndBoundaryTest() throws Exception {
+        GeoHashPolygonCoverage coverage = GeoHashPolygonCoverage.coverPolygon(LATITUDES, LONGITUDES, 7, 500);
+        GeoHashCoverage interior = coverage.getInterior();
+        GeoHashCoverage boundary = coverage.getBoundary();
+        assertTrue(interior.size() > 0);
+        assertTrue(boundary.size() > 0);
+        assertTrue(interior.size() + boundary.size() <= 500);
+        for (int i = 0; i < interior.size(); i++) {
+            long bits = interior.getBits(i);
+            int significantBits = interior.getSignificantBits(i);
+            double latitude = GeoHashUtils.minLatitude(bits, significantBits) + GeoHashUtils.latitudeSize(significantBits) / 2;
+            double longitude = GeoHashUtils.minLongitude(bits, significantBits) + GeoHashUtils.longitudeSize(significantBits) / 2;
+            assertEquals(boundary.indexOf(latitude, longitude), -1);
+        }
+    }
+
+    @Test
+    public void containsTest() throws Exception {
+        GeoHashPolygonCoverage coverage = GeoHashPolygonCoverage.coverPolygon(LATITUDES, LONGITUDES, 6, 200);
+        assertTrue(coverage.contains(53.17, 45.0));
+        assertTrue(coverage.contains(53.24, 44.96));
+        assertFalse(coverage.contains(53.24, 45.02));
+        assertFalse(coverage.contains(53.3, 45.0));
+        assertFalse(coverage.contains(-53.17, 45.0));
+    }
+
+    @Test
+    public void maxCellsTest() throws Exception {
+        for (int maxCells = 1; maxCells < 64; maxCells++) {
+            GeoHashPolygonCoverage coverage = GeoHashPolygonCoverage.coverPolygon(LATITUDES, LONGITUDES, 12, maxCells);
+            assertTrue(coverage.getInterior().size() + coverage.getBoundary().size() <= maxCells);
+            assertTrue(coverage.contains(53.17, 45.0));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooFewVerticesTest() throws Exception {
+        GeoHashPolygonCoverage.coverPolygon(new double[]{0, 1}, new double[]{0, 1}, 5, 10);
+    }
+}
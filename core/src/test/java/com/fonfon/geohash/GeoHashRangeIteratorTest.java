@@ -0,0 +1,125 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashRangeIteratorTest {
+
+    @Test
+    public void rangeTest() throws Exception {
+        long from = GeoHashUtils.decode("v12n8");
+        long to = GeoHashUtils.decode("v12nb");
+        GeoHashRangeIterator cursor = new GeoHashRangeIterator(from, to, 25);
+        String[] hashes = {"v12n8", "v12n9", "v12nb"};
+        for (String hash : hashes) {
+            assertTrue(cursor.next());
+            assertEquals(GeoHashUtils.toBase32(cursor.current(), 25), hash);
+        }
+        assertFalse(cursor.next());
+        assertEquals(GeoHashUtils.toBase32(cursor.current(), 25), "v12nb");
+        assertEquals(cursor.minLatitude(), GeoHashUtils.minLatitude(to, 25), 0);
+        assertEquals(cursor.maxLongitude(), GeoHashUtils.maxLongitude(to, 25), 0);
+    }
+
+    @Test
+    public void wholeSpaceTest() throws Exception {
+        GeoHashRangeIterator cursor = new GeoHashRangeIterator(0, -1L, 4);
+        int count = 0;
+        while (cursor.next()) {
+            assertEquals(cursor.current(), (long) count << 60);
+            count++;
+        }
+        assertEquals(count, 16);
+        cursor = new GeoHashRangeIterator(0, 0, 0);
+        assertTrue(cursor.next());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void skipToTest() throws Exception {
+        GeoHashRangeIterator cursor = new GeoHashRangeIterator(0, -1L, 10);
+        assertTrue(cursor.next());
+        cursor.skipTo(GeoHashUtils.decode("v1"));
+        assertTrue(cursor.next());
+        assertEquals(GeoHashUtils.toBase32(cursor.current(), 10), "v1");
+        cursor.skipTo(GeoHashUtils.decode("00"));
+        assertTrue(cursor.next());
+        assertEquals(GeoHashUtils.toBase32(cursor.current(), 10), "v2");
+        cursor.skipTo(GeoHashUtils.decode("zz"));
+        assertTrue(cursor.next());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void boundingBoxTest() throws Exception {
+        Random random = new Random(25);
+        for (int test = 0; test < 200; test++) {
+            int significantBits = 2 + random.nextInt(17);
+            double latitude1 = random.nextDouble() * 180 - 90;
+            double latitude2 = random.nextDouble() * 180 - 90;
+            double longitude1 = random.nextDouble() * 360 - 180;
+            double longitude2 = random.nextDouble() * 360 - 180;
+            double minLatitude = Math.min(latitude1, latitude2);
+            double maxLatitude = Math.max(latitude1, latitude2);
+            double minLongitude = Math.min(longitude1, longitude2);
+            double maxLongitude = Math.max(longitude1, longitude2);
+            long min = GeoHashUtils.encode(minLatitude, minLongitude, significantBits);
+            long max = GeoHashUtils.encode(maxLatitude, maxLongitude, significantBits);
+            long minRow = GeoHashUtils.latitudeBits(min, significantBits);
+            long maxRow = GeoHashUtils.latitudeBits(max, significantBits);
+            long minColumn = GeoHashUtils.longitudeBits(min, significantBits);
+            long maxColumn = GeoHashUtils.longitudeBits(max, significantBits);
+
+            GeoHashRangeIterator cursor = GeoHashRangeIterator.inBoundingBox(
+                    minLatitude, maxLatitude, minLongitude, maxLongitude, significantBits);
+            long step = 1L << (64 - significantBits);
+            long previousInBox = -1;
+            for (long bits = min; ; bits += step) {
+                long row = GeoHashUtils.latitudeBits(bits, significantBits);
+                long column = GeoHashUtils.longitudeBits(bits, significantBits);
+                boolean inBox = row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn;
+                if (inBox) {
+                    assertTrue(cursor.next());
+                    assertEquals(cursor.current(), bits);
+                    previousInBox = bits;
+                } else {
+                    assertEquals(GeoHashRangeIterator.litMax(bits, min, max, significantBits), previousInBox);
+                }
+                if (bits == max) {
+                    break;
+                }
+            }
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void bigMinTest() throws Exception {
+        long min = GeoHashUtils.interleave(1, 1, 6);
+        long max = GeoHashUtils.interleave(5, 3, 6);
+        long[] expected = new long[64];
+        long next = -1;
+        for (int ord = 63; ord >= 0; ord--) {
+            long bits = (long) ord << 58;
+            long row = GeoHashUtils.latitudeBits(bits, 6);
+            long column = GeoHashUtils.longitudeBits(bits, 6);
+            expected[ord] = next;
+            if (row >= 1 && row <= 5 && column >= 1 && column <= 3) {
+                next = bits;
+            }
+        }
+        for (int ord = (int) (min >>> 58); ord < (int) (max >>> 58); ord++) {
+            long bits = (long) ord << 58;
+            long row = GeoHashUtils.latitudeBits(bits, 6);
+            long column = GeoHashUtils.longitudeBits(bits, 6);
+            if (!(row >= 1 && row <= 5 && column >= 1 && column <= 3)) {
+                assertEquals(GeoHashRangeIterator.bigMin(bits, min, max, 6), expected[ord]);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashSetTest {
+
+    private static GeoHashSet set(String... geoHashes) {
+        return GeoHashSet.fromStrings(Arrays.asList(geoHashes));
+    }
+
+    @Test
+    public void normalizeTest() throws Exception {
+        GeoHashSet set = set("v12n8trdj", "u000", "v12n8", "v12n", "u000");
+        assertEquals(set.size(), 2);
+        assertEquals(GeoHashUtils.toBase32(set.getBits(0), set.getSignificantBits(0)), "u000");
+        assertEquals(GeoHashUtils.toBase32(set.getBits(1), set.getSignificantBits(1)), "v12n");
+        assertEquals(set, set("v12n", "u000"));
+    }
+
+    @Test
+    public void containsTest() throws Exception {
+        GeoHashSet set = set("v12n8", "u000");
+        assertTrue(set.contains("v12n8"));
+        assertTrue(set.contains("v12n8trdj"));
+        assertFalse(set.contains("v12n"));
+        assertFalse(set.contains("v12n9"));
+        assertTrue(set.contains(53.2030476, 45.0324948));
+        assertFalse(set.contains(-53.2030476, 45.0324948));
+        assertTrue(set.intersects(GeoHashUtils.decode("v12n"), 20));
+        assertFalse(set.intersects(GeoHashUtils.decode("v12p"), 20));
+        assertTrue(set.intersects(GeoHashUtils.decode("v12n8t"), 30));
+    }
+
+    @Test
+    public void oddBitsTextTest() throws Exception {
+        GeoHashSet set = set("v12n8trdjnv:1111", "u000:1");
+        assertEquals(set.size(), 2);
+        assertEquals(set.getSignificantBits(1), 59);
+        assertEquals(GeoHashUtils.toBase32(set.getBits(1), set.getSignificantBits(1)), "v12n8trdjnv:1111");
+        assertTrue(set.contains("v12n8trdjnv:1111"));
+        assertTrue(set.contains("v12n8trdjnvz"));
+        assertTrue(set.contains("u000z"));
+        assertFalse(set.contains("v12n8trdjnv:1110"));
+        assertFalse(set.contains("v12n8tr"));
+    }
+
+    @Test
+    public void unionTest() throws Exception {
+        assertEquals(set("v12n8", "u000").union(set("v12n", "s")), set("s", "u000", "v12n"));
+        assertEquals(set("v12n8").union(GeoHashSet.EMPTY), set("v12n8"));
+    }
+
+    @Test
+    public void intersectionTest() throws Exception {
+        assertEquals(set("v12n", "u000").intersection(set("v12n8", "v12n9k", "s")), set("v12n8", "v12n9k"));
+        assertTrue(set("v12n").intersection(set("u000")).isEmpty());
+    }
+
+    @Test
+    public void differenceTest() throws Exception {
+        GeoHashSet difference = set("v12n", "u000").difference(set("v12n8t", "u000"));
+        assertEquals(difference.size(), 31 + 31);
+        assertFalse(difference.contains("v12n8t"));
+        assertTrue(difference.contains("v12n8s"));
+        assertTrue(difference.contains("v12n9"));
+        assertFalse(difference.contains("u000"));
+        assertEquals(difference.union(set("v12n8t")).size(), 63);
+    }
+
+    @Test
+    public void coverageTest() throws Exception {
+        GeoHashCoverage coverage = GeoHashCoverage.coverBoundingBox(53.15, 53.25, 44.95, 45.1, 7, 500);
+        GeoHashSet set = GeoHashSet.fromCoverage(coverage);
+        assertEquals(set.size(), coverage.size());
+        assertTrue(set.contains(53.2, 45.0));
+        assertEquals(set.contains(53.3, 45.0), coverage.contains(53.3, 45.0));
+    }
+}
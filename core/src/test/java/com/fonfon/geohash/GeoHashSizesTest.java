@@ -0,0 +1,66 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashSizesTest {
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(GeoHashUtils.EARTH_RADIUS_METERS);
+
+    @Test
+    public void sizesTest() throws Exception {
+        assertEquals(GeoHashSizes.heightMeters(0), 180 * METERS_PER_DEGREE, 1e-6);
+        assertEquals(GeoHashSizes.heightMeters(30), 180.0 / (1 << 15) * METERS_PER_DEGREE, 1e-9);
+        assertEquals(GeoHashSizes.widthMeters(0.5, 30), 360.0 / (1 << 15) * METERS_PER_DEGREE
+                * Math.cos(Math.toRadians(1)), 1e-9);
+        assertEquals(GeoHashSizes.widthMeters(-60.5, 30), GeoHashSizes.widthMeters(60.9, 30), 0);
+        assertTrue(GeoHashSizes.widthMeters(60.5, 30) <= 360.0 / (1 << 15) * METERS_PER_DEGREE
+                * Math.cos(Math.toRadians(60.5)));
+        assertTrue(GeoHashSizes.widthMeters(90, 30) >= 0);
+    }
+
+    @Test
+    public void precisionForRadiusTest() throws Exception {
+        assertEquals(GeoHashSizes.precisionForRadius(0, 1000), 29);
+        assertEquals(GeoHashSizes.precisionForRadius(0, 0), 64);
+        assertEquals(GeoHashSizes.precisionForRadius(0, 1e9), 0);
+        for (double latitude = -89.5; latitude < 90; latitude += 7) {
+            for (double radius = 0.01; radius < 1e7; radius *= 3) {
+                int bits = GeoHashSizes.precisionForRadius(latitude, radius);
+                assertTrue(bits == 0 || GeoHashSizes.heightMeters(bits) >= radius);
+                assertTrue(bits == 0 || GeoHashSizes.widthMeters(latitude, bits) >= radius);
+                assertTrue(bits == 64 || GeoHashSizes.heightMeters(bits + 1) < radius
+                        || GeoHashSizes.widthMeters(latitude, bits + 1) < radius);
+            }
+        }
+    }
+
+    @Test
+    public void precisionForViewportTest() throws Exception {
+        assertEquals(GeoHashSizes.precisionForViewport(-90, 90, -180, 180, 1), 0);
+        assertEquals(GeoHashSizes.precisionForViewport(-90, 90, -180, 180, 32), 5);
+        assertEquals(GeoHashSizes.precisionForViewport(10, 10, 20, 20, 1), 64);
+        for (int maxCells = 1; maxCells < 5000; maxCells = maxCells * 2 + 1) {
+            double minLatitude = 53.2;
+            double maxLatitude = 53.3;
+            double minLongitude = 45.01;
+            double maxLongitude = 45.2;
+            int bits = GeoHashSizes.precisionForViewport(minLatitude, maxLatitude, minLongitude, maxLongitude, maxCells);
+            long rows = (GeoHashUtils.latitudeBits(GeoHashUtils.encode(maxLatitude, minLongitude, bits), bits)
+                    - GeoHashUtils.latitudeBits(GeoHashUtils.encode(minLatitude, minLongitude, bits), bits)) + 1;
+            long columns = (GeoHashUtils.longitudeBits(GeoHashUtils.encode(minLatitude, maxLongitude, bits), bits)
+                    - GeoHashUtils.longitudeBits(GeoHashUtils.encode(minLatitude, minLongitude, bits), bits)) + 1;
+            assertTrue(rows * columns <= maxCells);
+        }
+        // Crossing the 180th meridian
+        assertEquals(GeoHashSizes.precisionForViewport(-10, 10, 170, -170, 100),
+                GeoHashSizes.precisionForViewport(-10, 10, -10, 10, 100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeRadiusTest() throws Exception {
+        GeoHashSizes.precisionForRadius(0, -1);
+    }
+}
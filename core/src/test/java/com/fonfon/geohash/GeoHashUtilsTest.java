@@ -0,0 +1,266 @@
+package com.fonfon.geohash;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeoHashUtilsTest {
+
+    private static final double LATITUDE = 53.2030476;
+    private static final double LONGITUDE = 45.0324948;
+    private static final double EPS = 0.00000001;
+
+    @Test
+    public void encodeTest() throws Exception {
+        String hash = "v12n8trdjnvu";
+        for (int i = 0; i <= GeoHashUtils.MAX_CHARACTER_PRECISION; i++) {
+            assertEquals(GeoHashUtils.encode(LATITUDE, LONGITUDE, i * GeoHashUtils.BASE32_BITS),
+                    GeoHashUtils.decode(hash, 0, i));
+        }
+        assertEquals(GeoHashUtils.encode(LATITUDE, LONGITUDE, 0), 0L);
+        assertEquals(GeoHashUtils.encode(90, 180, 64), 0xffffffffffffffffL);
+        assertEquals(GeoHashUtils.encode(-90, -180, 64), 0L);
+    }
+
+    @Test
+    public void encodeBatchTest() throws Exception {
+        double[] latitudes = {LATITUDE, -LATITUDE, 90, -90, 0};
+        double[] longitudes = {LONGITUDE, -LONGITUDE, 180, -180, 0};
+        long[] hashes = new long[latitudes.length];
+        GeoHashUtils.encodeBatch(latitudes, longitudes, 45, hashes);
+        for (int i = 0; i < latitudes.length; i++) {
+            assertEquals(hashes[i], GeoHashUtils.encode(latitudes[i], longitudes[i], 45));
+        }
+
+        LongBuffer buffer = ByteBuffer.allocateDirect(8 * 8).asLongBuffer();
+        buffer.position(2);
+        DoubleBuffer latitudesBuffer = DoubleBuffer.wrap(latitudes, 1, 3);
+        GeoHashUtils.encodeBatch(latitudesBuffer, DoubleBuffer.wrap(longitudes, 1, 4), 45, buffer);
+        assertEquals(latitudesBuffer.remaining(), 0);
+        assertEquals(buffer.position(), 5);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(buffer.get(2 + i), hashes[1 + i]);
+        }
+    }
+
+    @Test
+    public void decodeBatchTest() throws Exception {
+        long[] hashes = {GeoHashUtils.decode("v12n8trdj"), GeoHashUtils.decode("u000000000"), 0};
+        double[] latitudes = new double[3];
+        double[] longitudes = new double[3];
+        GeoHashUtils.decodeBatch(hashes, 45, latitudes, longitudes);
+        for (int i = 0; i < hashes.length; i++) {
+            assertEquals(latitudes[i], GeoHashUtils.minLatitude(hashes[i], 45) + GeoHashUtils.latitudeSize(45) / 2, 0);
+            assertEquals(longitudes[i], GeoHashUtils.minLongitude(hashes[i], 45) + GeoHashUtils.longitudeSize(45) / 2, 0);
+        }
+        assertEquals(latitudes[0], LATITUDE, 0.0001);
+        assertEquals(longitudes[0], LONGITUDE, 0.0001);
+
+        DoubleBuffer latitudesBuffer = ByteBuffer.allocateDirect(3 * 8).asDoubleBuffer();
+        DoubleBuffer longitudesBuffer = DoubleBuffer.allocate(3);
+        GeoHashUtils.decodeBatch(LongBuffer.wrap(hashes), 45, latitudesBuffer, longitudesBuffer);
+        for (int i = 0; i < hashes.length; i++) {
+            assertEquals(latitudesBuffer.get(i), latitudes[i], 0);
+            assertEquals(longitudesBuffer.get(i), longitudes[i], 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodeBatchShortColumnTest() throws Exception {
+        GeoHashUtils.encodeBatch(new double[3], new double[2], 45, new long[3]);
+    }
+
+    @Test
+    public void encodeToStringTest() throws Exception {
+        assertEquals(GeoHashUtils.encodeToString(LATITUDE, LONGITUDE, 12), "v12n8trdjnvu");
+        assertEquals(GeoHashUtils.encodeToString(LATITUDE, LONGITUDE, 9), "v12n8trdj");
+        assertEquals(GeoHashUtils.encodeToString(LATITUDE, LONGITUDE, 0), "");
+    }
+
+    @Test
+    public void writeBase32Test() throws Exception {
+        long bits = GeoHashUtils.decode("v12n8trdj");
+        assertEquals(GeoHashUtils.appendBase32(bits, 45, new StringBuilder("key:")).toString(), "key:v12n8trdj");
+        StringBuilder appendable = new StringBuilder();
+        GeoHashUtils.appendBase32(bits, 45, (Appendable) appendable);
+        assertEquals(appendable.toString(), "v12n8trdj");
+        byte[] bytes = new byte[11];
+        assertEquals(GeoHashUtils.writeBase32(bits, 45, bytes, 1), 9);
+        assertEquals(new String(bytes, 1, 9, "US-ASCII"), "v12n8trdj");
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        buffer.put((byte) '"');
+        assertEquals(GeoHashUtils.writeBase32(bits, 45, buffer), 9);
+        assertEquals(buffer.position(), 10);
+        assertEquals(new String(buffer.array(), 1, 9, "US-ASCII"), "v12n8trdj");
+        assertEquals(GeoHashUtils.writeBase32(0, 0, bytes, 11), 0);
+    }
+
+    @Test
+    public void oddBitsTextTest() throws Exception {
+        long bits = GeoHashUtils.decode("v12n8trdj");
+        assertEquals(GeoHashUtils.toBase32(bits, 27), "v12n8:11");
+        assertEquals(GeoHashUtils.toBase32(bits, 3), ":110");
+        assertEquals(GeoHashUtils.toBase32(-1L, 64), "zzzzzzzzzzzz:1111");
+        assertEquals(GeoHashUtils.appendBase32(bits, 27, new StringBuilder()).toString(), "v12n8:11");
+        for (int significantBits = 0; significantBits <= 64; significantBits++) {
+            long hash = GeoHashUtils.encode(53.2030476, 45.0324948, significantBits);
+            String text = GeoHashUtils.toBase32(hash, significantBits);
+            assertEquals(GeoHashUtils.parseBits(text), hash);
+            assertEquals(GeoHashUtils.parseSignificantBits(text), significantBits);
+            byte[] ascii = new byte[text.length()];
+            GeoHashUtils.writeBase32(hash, significantBits, ascii, 0);
+            assertEquals(new String(ascii, "US-ASCII"), text);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseTooManyBitsTest() throws Exception {
+        GeoHashUtils.parseBits("v12n8:01010");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseInvalidBitTest() throws Exception {
+        GeoHashUtils.parseBits("v12n8:2");
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void writeBase32OverflowTest() throws Exception {
+        GeoHashUtils.writeBase32(GeoHashUtils.decode("v12n8trdj"), 45, new byte[10], 2);
+    }
+
+    @Test
+    public void encodeCellBoundaryTest() throws Exception {
+        assertEquals(GeoHashUtils.encode(0, 0, 2), 0xc000000000000000L);
+        assertEquals(GeoHashUtils.encode(-Double.MIN_VALUE, -Double.MIN_VALUE, 2), 0L);
+        assertEquals(GeoHashUtils.encode(-1e-20, 1e-20, 4), 0x9000000000000000L);
+        assertEquals(GeoHashUtils.encode(45, 90, 4), 0xf000000000000000L);
+        assertEquals(GeoHashUtils.encode(44.99999999999999, 89.99999999999999, 4), 0xc000000000000000L);
+    }
+
+    @Test
+    public void distanceTest() throws Exception {
+        assertEquals(GeoHashUtils.distance(LATITUDE, LONGITUDE, LATITUDE, LONGITUDE), 0, 0);
+        assertEquals(GeoHashUtils.distance(0, 0, 0, 1), 111195, 1);
+        assertEquals(GeoHashUtils.distance(0, 179.5, 0, -179.5), 111195, 1);
+        assertEquals(GeoHashUtils.distance(90, 0, -90, 0), Math.PI * GeoHashUtils.EARTH_RADIUS_METERS, 1);
+    }
+
+    @Test
+    public void adjacentLongsTest() throws Exception {
+        String[] hashes = new String[]{
+                "v12n8trdm", "v12n8trdq", "v12n8trdn",
+                "v12n8tr9y", "v12n8tr9v", "v12n8tr9u",
+                "v12n8trdh", "v12n8trdk"
+        };
+        long[] adjacent = GeoHashUtils.adjacentLongs(GeoHashUtils.decode("v12n8trdj"), 45);
+        assertEquals(adjacent.length, hashes.length);
+        for (int i = 0; i < adjacent.length; i++) {
+            assertEquals(GeoHashUtils.toBase32(adjacent[i], 45), hashes[i]);
+        }
+    }
+
+    @Test
+    public void neighbourWrapTest() throws Exception {
+        long north = GeoHashUtils.encode(90, 0, 10);
+        assertEquals(GeoHashUtils.northernNeighbour(north, 10), GeoHashUtils.encode(-90, 0, 10));
+        long east = GeoHashUtils.encode(0, 180, 10);
+        assertEquals(GeoHashUtils.easternNeighbour(east, 10), GeoHashUtils.encode(0, -180, 10));
+        assertEquals(GeoHashUtils.westernNeighbour(GeoHashUtils.easternNeighbour(east, 10), 10), east);
+        assertEquals(GeoHashUtils.southernNeighbour(GeoHashUtils.northernNeighbour(north, 10), 10), north);
+    }
+
+    @Test
+    public void decodeTest() throws Exception {
+        long bits = GeoHashUtils.encode(LATITUDE, LONGITUDE, 45);
+        assertEquals(GeoHashUtils.decode("v12n8trdj"), bits);
+        assertEquals(GeoHashUtils.decode("key:v12n8trdj", 4, 9), bits);
+        assertEquals(GeoHashUtils.decode("key:v12n8trdj".toCharArray(), 4, 9), bits);
+        assertEquals(GeoHashUtils.decode("key:v12n8trdj".getBytes("US-ASCII"), 4, 9), bits);
+        assertEquals(GeoHashUtils.decode(""), 0L);
+    }
+
+    @Test
+    public void boundsTest() throws Exception {
+        long bits = GeoHashUtils.decode("v12n8");
+        double height = GeoHashUtils.latitudeSize(25);
+        double width = GeoHashUtils.longitudeSize(25);
+        assertEquals(height, 180.0 / 4096, 0);
+        assertEquals(width, 360.0 / 8192, 0);
+        assertEquals(GeoHashUtils.minLatitude(bits, 25), 53.19580078 - height / 2, EPS);
+        assertEquals(GeoHashUtils.maxLatitude(bits, 25), 53.19580078 + height / 2, EPS);
+        assertEquals(GeoHashUtils.minLongitude(bits, 25), 45.02197266 - width / 2, EPS);
+        assertEquals(GeoHashUtils.maxLongitude(bits, 25), 45.02197266 + width / 2, EPS);
+        assertEquals(GeoHashUtils.minLatitude(0, 0), -90.0, 0);
+        assertEquals(GeoHashUtils.maxLongitude(0, 0), 180.0, 0);
+    }
+
+    @Test
+    public void latitudeLongitudeBitsTest() throws Exception {
+        long bits = 0xd000000000000000L;
+        assertEquals(GeoHashUtils.longitudeBits(bits, 5), 4L);
+        assertEquals(GeoHashUtils.latitudeBits(bits, 5), 3L);
+        assertEquals(GeoHashUtils.interleave(3, 4, 5), bits);
+        long hash = GeoHashUtils.decode("v12n8trdj");
+        assertEquals(GeoHashUtils.interleave(GeoHashUtils.latitudeBits(hash, 45),
+                GeoHashUtils.longitudeBits(hash, 45), 45), hash);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeInvalidCharacterTest() throws Exception {
+        GeoHashUtils.decode("v12n8a");
+    }
+
+    @Test
+    public void parentTest() throws Exception {
+        long bits = GeoHashUtils.decode("v12n8trdj");
+        assertEquals(GeoHashUtils.parent(bits, 45, 5), GeoHashUtils.decode("v12n8trd"));
+        assertEquals(GeoHashUtils.parent(bits, 45, 45), 0);
+        assertEquals(GeoHashUtils.ancestorAt(bits, 20), GeoHashUtils.decode("v12n"));
+        assertEquals(GeoHashUtils.ancestorAt(bits, 1), 0x8000000000000000L);
+        assertTrue(GeoHashUtils.isAncestorOf(GeoHashUtils.decode("v12n"), 20, bits, 45));
+        assertTrue(GeoHashUtils.isAncestorOf(0, 0, bits, 45));
+        assertFalse(GeoHashUtils.isAncestorOf(bits, 45, bits, 45));
+        assertFalse(GeoHashUtils.isAncestorOf(GeoHashUtils.decode("v12p"), 20, bits, 45));
+    }
+
+    @Test
+    public void childrenTest() throws Exception {
+        long[] children = GeoHashUtils.childrenLongs(GeoHashUtils.decode("v12n8trdj"), 45, 50);
+        assertEquals(children.length, 32);
+        for (int i = 0; i < children.length; i++) {
+            assertEquals(GeoHashUtils.toBase32(children[i], 50), "v12n8trdj" + GeoHashUtils.BASE32.charAt(i));
+        }
+        children = GeoHashUtils.childrenLongs(0xffffffffffffffffL, 62, 64);
+        assertEquals(children.length, 4);
+        assertEquals(children[0], 0xfffffffffffffffcL);
+        assertEquals(children[3], 0xffffffffffffffffL);
+        assertEquals(GeoHashUtils.childrenLongs(0x8000000000000000L, 1, 1)[0], 0x8000000000000000L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void childrenCoarserTest() throws Exception {
+        GeoHashUtils.childrenLongs(0, 10, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeTooLongTest() throws Exception {
+        GeoHashUtils.decode("v12n8trdjnvu0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodeTooManyBitsTest() throws Exception {
+        GeoHashUtils.encode(LATITUDE, LONGITUDE, 65);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodeToStringTooLongTest() throws Exception {
+        GeoHashUtils.encodeToString(LATITUDE, LONGITUDE, 13);
+    }
+
+}
@@ -71,6 +71,12 @@ public class BoundingBoxTest {
         assertEquals(boxA.equals(boundingBox), true);
     }
 
+    @Test
+    public void hashCodeTest() throws Exception {
+        assertEquals(boxA.hashCode(), new BoundingBox(locationB, locationA).hashCode());
+        assertEquals(new BoundingBox(0.0, 1, 0.0, 1).hashCode(), new BoundingBox(-0.0, 1, -0.0, 1).hashCode());
+    }
+
     @Test
     public void containsTest() throws Exception {
         assertEquals(boxA.contains(locationC), true);
@@ -99,6 +105,22 @@ public class BoundingBoxTest {
         assertEquals(boxA.getCenterPoint().getLongitude(), locationC.getLongitude());
     }
 
+    @Test
+    public void getCenterLatitudeLongitudeTest() throws Exception {
+        assertEquals(boxA.getCenterLatitude(), locationC.getLatitude());
+        assertEquals(boxA.getCenterLongitude(), locationC.getLongitude());
+    }
+
+    @Test
+    public void getCoverageTest() throws Exception {
+        GeoHashCoverage coverage = boxA.getCoverage(3, 50);
+        assertEquals(coverage.size() <= 50, true);
+        for (int i = 0; i < coverage.size(); i++) {
+            GeoHash hash = GeoHash.fromLongValue(coverage.getBits(i), coverage.getSignificantBits(i));
+            assertEquals(hash.getBoundingBox().intersects(boxA), true);
+        }
+    }
+
     @Test
     public void getMaxLatitudeTest() throws Exception {
         assertEquals(boxA.getMaxLatitude(), 20.0);
@@ -7,9 +7,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNull;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
 
 @RunWith(AndroidJUnit4.class)
 public class GeoHashTest {
@@ -54,6 +56,21 @@ public class GeoHashTest {
         assertEquals(Math.abs(testhash.getCenter().getLongitude() - 45.03250837) < EPS, true);
     }
 
+    @Test
+    public void getCenterLatitudeLongitudeTest() throws Exception {
+        assertEquals(testhash.getCenterLatitude(), testhash.getCenter().getLatitude());
+        assertEquals(testhash.getCenterLongitude(), testhash.getCenter().getLongitude());
+        assertEquals(testhash.getCenterLatitude(), testhash.getBoundingBox().getCenterLatitude());
+    }
+
+    @Test
+    public void getBoundingBoxReuseTest() throws Exception {
+        MutableBoundingBox box = new MutableBoundingBox();
+        assertEquals(testhash.getBoundingBox(box), testhash.getBoundingBox());
+        GeoHash next = testhash.next();
+        assertEquals(next.getBoundingBox(box), next.getBoundingBox());
+    }
+
     @Test
     public void nextTest() throws Exception {
         assertEquals(testhash.next().toString(), "v12n8trdk");
@@ -123,6 +140,29 @@ public class GeoHashTest {
         assertNull(hash.getParentHash());
     }
 
+    @Test
+    public void parentTests() throws Exception {
+        assertEquals(testhash.parent(10).toString(), "v12n8tr");
+        assertEquals(testhash.ancestorAt(20).toString(), "v12n");
+        assertEquals(testhash.parent(3).getSignificantBits(), 42);
+        assertTrue(testhash.ancestorAt(20).isAncestorOf(testhash));
+        assertFalse(testhash.isAncestorOf(testhash));
+    }
+
+    @Test
+    public void oddBitsTests() throws Exception {
+        GeoHash hash = testhash.parent(3);
+        assertEquals(hash.toString(), "v12n8trd:10");
+        assertEquals(GeoHash.fromString("v12n8trd:10"), hash);
+        assertEquals(hash.getParentHash().toString(), "v12n8tr:01");
+        assertEquals(hash.getChildHashes(1).length, 2);
+        assertEquals(hash.getChildHashes(1)[1].toString(), "v12n8trd:101");
+        assertEquals(hash.getChildHashes()[0].toString(), "v12n8trdh:00");
+        GeoHash fine = GeoHash.fromString("v12n8trdjnv:1");
+        assertEquals(fine.getChildHashes().length, 32);
+        assertEquals(fine.getChildHashes()[31].toString(), "v12n8trdjnvz:1");
+    }
+
     @Test
     public void getNorthernNeighbourTest() throws Exception {
         assertEquals(testhash.getNorthernNeighbour().toString(), "v12n8trdm");
@@ -159,4 +199,25 @@ public class GeoHashTest {
         assertEquals(testhash.equals(hash1), true);
     }
 
+    @Test
+    public void cellIdTest() throws Exception {
+        assertEquals(GeoHash.fromCellId(testhash.toCellId()), testhash);
+        assertEquals(testhash.toCellId() == testhash.getParentHash().toCellId(), false);
+    }
+
+    @Test
+    public void appendToTest() throws Exception {
+        assertEquals(testhash.appendTo(new StringBuilder("#")).toString(), "#v12n8trdj");
+        byte[] bytes = new byte[9];
+        assertEquals(testhash.writeAscii(bytes, 0), 9);
+        assertEquals(new String(bytes, "US-ASCII"), "v12n8trdj");
+        assertTrue(testhash.toString() == testhash.toString());
+    }
+
+    @Test
+    public void hashCodeTest() throws Exception {
+        assertEquals(testhash.hashCode(), GeoHash.fromString("v12n8trdj").hashCode());
+        assertEquals(testhash.hashCode() == testhash.getParentHash().hashCode(), false);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.fonfon.geohash;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static junit.framework.TestCase.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+public class MutableBoundingBoxTest {
+
+    @Test
+    public void setTest() throws Exception {
+        MutableBoundingBox box = new MutableBoundingBox();
+        box.set(20, 10, 21, 11);
+        assertEquals(box.getMinLatitude(), 10.0);
+        assertEquals(box.getMaxLatitude(), 20.0);
+        assertEquals(box.getMinLongitude(), 11.0);
+        assertEquals(box.getMaxLongitude(), 21.0);
+        assertEquals(box.equals(new BoundingBox(LocationExt.newLocation(10, 11), LocationExt.newLocation(20, 21))), true);
+    }
+
+    @Test
+    public void setHashTest() throws Exception {
+        GeoHash hash = GeoHash.fromString("v12n8");
+        MutableBoundingBox box = new MutableBoundingBox().setHash(hash.toLong(), hash.getSignificantBits());
+        assertEquals(box, hash.getBoundingBox());
+        assertEquals(box.getCenterLatitude(), hash.getCenterLatitude());
+        assertEquals(box.getCenterLongitude(), hash.getCenterLongitude());
+    }
+
+}
@@ -6,10 +6,10 @@ import android.os.Parcelable;
 
 public class BoundingBox implements Parcelable {
 
-    private double minLatitude;
-    private double maxLatitude;
-    private double minLongitude;
-    private double maxLongitude;
+    double minLatitude;
+    double maxLatitude;
+    double minLongitude;
+    double maxLongitude;
 
     /**
      * Generate {@link BoundingBox} from
@@ -21,7 +21,7 @@ public class BoundingBox implements Parcelable {
         this(p1.getLatitude(), p2.getLatitude(), p1.getLongitude(), p2.getLongitude());
     }
 
-    private BoundingBox(double y1, double y2, double x1, double x2) {
+    BoundingBox(double y1, double y2, double x1, double x2) {
         minLongitude = Math.min(x1, x2);
         maxLongitude = Math.max(x1, x2);
         minLatitude = Math.min(y1, y2);
@@ -77,6 +77,15 @@ public class BoundingBox implements Parcelable {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        int result = hashCode(minLatitude);
+        result = 31 * result + hashCode(maxLatitude);
+        result = 31 * result + hashCode(minLongitude);
+        result = 31 * result + hashCode(maxLongitude);
+        return result;
+    }
+
     /**
      * @param point {@link Location} object
      * @return location contains in box
@@ -99,6 +108,18 @@ public class BoundingBox implements Parcelable {
                 || other.maxLatitude < minLatitude);
     }
 
+    /**
+     * Cover box with mixed precision geohashes
+     *
+     * @param numberOfCharacters max characters count - 12
+     * @param maxCells max count of hashes
+     * @return {@link GeoHashCoverage} sorted in Z-order
+     */
+    public GeoHashCoverage getCoverage(int numberOfCharacters, int maxCells) {
+        return GeoHashCoverage.coverBoundingBox(
+                minLatitude, maxLatitude, minLongitude, maxLongitude, numberOfCharacters, maxCells);
+    }
+
     @Override
     public String toString() {
         return getTopLeft().toString() + " -> " + getBottomRight().toString();
@@ -108,7 +129,21 @@ public class BoundingBox implements Parcelable {
      * @return center box point
      */
     public Location getCenterPoint() {
-        return LocationExt.newLocation((minLatitude + maxLatitude) / 2, (minLongitude + maxLongitude) / 2);
+        return LocationExt.newLocation(getCenterLatitude(), getCenterLongitude());
+    }
+
+    /**
+     * @return center box latitude
+     */
+    public double getCenterLatitude() {
+        return (minLatitude + maxLatitude) / 2;
+    }
+
+    /**
+     * @return center box longitude
+     */
+    public double getCenterLongitude() {
+        return (minLongitude + maxLongitude) / 2;
     }
 
     /**
@@ -163,4 +198,12 @@ public class BoundingBox implements Parcelable {
         dest.writeDouble(minLongitude);
         dest.writeDouble(maxLongitude);
     }
+
+    /**
+     * Equal coordinates have equal hash codes, 0.0 and -0.0 included
+     */
+    private static int hashCode(double value) {
+        long bits = value == 0 ? 0 : Double.doubleToLongBits(value);
+        return (int) (bits ^ (bits >>> 32));
+    }
 }
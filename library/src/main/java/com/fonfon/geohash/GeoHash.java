@@ -4,40 +4,30 @@ import android.location.Location;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public final class GeoHash implements Parcelable {
 
-    public static final int MAX_CHARACTER_PRECISION = 12;
+    public static final int MAX_CHARACTER_PRECISION = GeoHashUtils.MAX_CHARACTER_PRECISION;
 
     public static final long FIRST_BIT_FLAGGED = 0x8000000000000000L;
-    public static final double LATITUDE_MAX_ABS = 90.0;
-    public static final double LONGITUDE_MAX_ABS = 180.0;
-    public static final int MAX_BIT_PRECISION = Long.bitCount(Long.MAX_VALUE) + 1;// max - 64;
-    public static final int BASE32_BITS = 5;
+    public static final double LATITUDE_MAX_ABS = GeoHashUtils.LATITUDE_MAX_ABS;
+    public static final double LONGITUDE_MAX_ABS = GeoHashUtils.LONGITUDE_MAX_ABS;
+    public static final int MAX_BIT_PRECISION = GeoHashUtils.MAX_BIT_PRECISION;
+    public static final int BASE32_BITS = GeoHashUtils.BASE32_BITS;
     public static final int[] BITS = {16, 8, 4, 2, 1};
-    public static final String base32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    public static final String base32 = GeoHashUtils.BASE32;
     public static final int MAX_GEO_HASH_BITS_COUNT = BASE32_BITS * MAX_CHARACTER_PRECISION;
 
-    private static final Map<Character, Integer> decodeMap = new HashMap<>();
-
     private long bits = 0;
     private byte significantBits = 0;
     private BoundingBox boundingBox;
-
-    static {
-        for (int i = 0; i < base32.length(); i++)
-            decodeMap.put(base32.charAt(i), i);
-    }
-
-    private GeoHash() {
-    }
+    private String string;
 
     protected GeoHash(Parcel in) {
         bits = in.readLong();
         significantBits = in.readByte();
-        boundingBox = in.readParcelable(BoundingBox.class.getClassLoader());
     }
 
     /**
@@ -48,7 +38,7 @@ public final class GeoHash implements Parcelable {
      * @return new {@link GeoHash}
      */
     public static GeoHash fromCoordinates(double latitude, double longitude) {
-        return fromLocation(LocationExt.newLocation(latitude, longitude));
+        return new GeoHash(latitude, longitude, MAX_CHARACTER_PRECISION * BASE32_BITS);
     }
 
     /**
@@ -60,7 +50,8 @@ public final class GeoHash implements Parcelable {
      * @return new {@link GeoHash}
      */
     public static GeoHash fromCoordinates(double latitude, double longitude, int numberOfCharacters) {
-        return fromLocation(LocationExt.newLocation(latitude, longitude), numberOfCharacters);
+        GeoHashUtils.checkNumberOfCharacters(numberOfCharacters);
+        return new GeoHash(latitude, longitude, numberOfCharacters * BASE32_BITS);
     }
 
     /**
@@ -70,7 +61,7 @@ public final class GeoHash implements Parcelable {
      * @return new {@link GeoHash}
      */
     public static GeoHash fromLocation(Location location) {
-        return new GeoHash(location.getLatitude(), location.getLongitude(), MAX_CHARACTER_PRECISION * BASE32_BITS);
+        return fromCoordinates(location.getLatitude(), location.getLongitude());
     }
 
     /**
@@ -81,44 +72,17 @@ public final class GeoHash implements Parcelable {
      * @return new {@link GeoHash}
      */
     public static GeoHash fromLocation(Location location, int numberOfCharacters) {
-        if (numberOfCharacters > MAX_CHARACTER_PRECISION) {
-            throw new IllegalArgumentException(
-                    "A geohash can only be " + MAX_CHARACTER_PRECISION + " character long.");
-        }
-        int desiredPrecision = (numberOfCharacters * BASE32_BITS <= MAX_GEO_HASH_BITS_COUNT) ?
-                numberOfCharacters * BASE32_BITS : MAX_GEO_HASH_BITS_COUNT;
-        return new GeoHash(location.getLatitude(), location.getLongitude(), desiredPrecision);
+        return fromCoordinates(location.getLatitude(), location.getLongitude(), numberOfCharacters);
     }
 
     /**
      * Generate {@link GeoHash} from
      *
-     * @param geoHash geoHash {@link String}
+     * @param geoHash geoHash {@link String}, base32 or of any bit precision like {@link #toString()}
      * @return new {@link GeoHash}
      */
     public static GeoHash fromString(String geoHash) {
-        double[] latitudeRange = {-LATITUDE_MAX_ABS, LATITUDE_MAX_ABS};
-        double[] longitudeRange = {-LONGITUDE_MAX_ABS, LONGITUDE_MAX_ABS};
-
-        boolean isEvenBit = true;
-        GeoHash hash = new GeoHash();
-
-        for (int i = 0; i < geoHash.length(); i++) {
-            int cd = decodeMap.get(geoHash.charAt(i));
-            for (int j = 0; j < BASE32_BITS; j++) {
-                int mask = BITS[j];
-                if (isEvenBit) {
-                    divideRangeDecode(hash, longitudeRange, (cd & mask) != 0);
-                } else {
-                    divideRangeDecode(hash, latitudeRange, (cd & mask) != 0);
-                }
-                isEvenBit = !isEvenBit;
-            }
-        }
-
-        setBoundingBox(hash, latitudeRange, longitudeRange);
-        hash.bits <<= (MAX_BIT_PRECISION - hash.significantBits);
-        return hash;
+        return new GeoHash(GeoHashUtils.parseBits(geoHash), GeoHashUtils.parseSignificantBits(geoHash));
     }
 
     /**
@@ -128,42 +92,73 @@ public final class GeoHash implements Parcelable {
      * @return new {@link GeoHash}
      */
     public static GeoHash fromLongValue(long hashVal, int significantBits) {
-        double[] latitudeRange = {-LATITUDE_MAX_ABS, LATITUDE_MAX_ABS};
-        double[] longitudeRange = {-LONGITUDE_MAX_ABS, LONGITUDE_MAX_ABS};
-
-        boolean isEvenBit = true;
-        GeoHash hash = new GeoHash();
+        GeoHashUtils.checkSignificantBits(significantBits);
+        return new GeoHash(hashVal & GeoHashUtils.mask(significantBits), significantBits);
+    }
 
-        String binaryString = Long.toBinaryString(hashVal);
-        while (binaryString.length() < MAX_BIT_PRECISION) {
-            binaryString = "0" + binaryString;
-        }
-        for (int j = 0; j < significantBits; j++) {
-            if (isEvenBit) {
-                divideRangeDecode(hash, longitudeRange, binaryString.charAt(j) != '0');
-            } else {
-                divideRangeDecode(hash, latitudeRange, binaryString.charAt(j) != '0');
-            }
-            isEvenBit = !isEvenBit;
-        }
+    /**
+     * Generate {@link GeoHash} from
+     *
+     * @param id cell id, see {@link GeoHashCellId}
+     * @return new {@link GeoHash}
+     */
+    public static GeoHash fromCellId(long id) {
+        return new GeoHash(GeoHashCellId.bits(id), GeoHashCellId.significantBits(id));
+    }
 
-        setBoundingBox(hash, latitudeRange, longitudeRange);
-        hash.bits <<= (MAX_BIT_PRECISION - hash.significantBits);
-        return hash;
+    /**
+     * @param box viewport {@link BoundingBox}
+     * @param maxCells max count of hashes, at least 1
+     * @return finest count of signification bits whose hashes intersecting the box are at most maxCells
+     */
+    public static int precisionForViewport(BoundingBox box, int maxCells) {
+        return GeoHashSizes.precisionForViewport(box.minLatitude, box.maxLatitude,
+                box.minLongitude, box.maxLongitude, maxCells);
     }
 
     /**
-     * @return geohash {@link BoundingBox}
+     * @return geohash {@link BoundingBox}, computed on first call
      */
     public BoundingBox getBoundingBox() {
+        if (boundingBox == null) {
+            boundingBox = new BoundingBox(
+                    GeoHashUtils.minLatitude(bits, significantBits),
+                    GeoHashUtils.maxLatitude(bits, significantBits),
+                    GeoHashUtils.minLongitude(bits, significantBits),
+                    GeoHashUtils.maxLongitude(bits, significantBits));
+        }
         return boundingBox;
     }
 
+    /**
+     * Fill reusable box with geohash bounds
+     *
+     * @param box {@link MutableBoundingBox} to fill
+     * @return the same box
+     */
+    public MutableBoundingBox getBoundingBox(MutableBoundingBox box) {
+        return box.setHash(bits, significantBits);
+    }
+
     /**
      * @return geohash {@link BoundingBox} center point
      */
     public Location getCenter() {
-        return boundingBox.getCenterPoint();
+        return LocationExt.newLocation(getCenterLatitude(), getCenterLongitude());
+    }
+
+    /**
+     * @return geohash {@link BoundingBox} center latitude
+     */
+    public double getCenterLatitude() {
+        return GeoHashUtils.minLatitude(bits, significantBits) + GeoHashUtils.latitudeSize(significantBits) / 2;
+    }
+
+    /**
+     * @return geohash {@link BoundingBox} center longitude
+     */
+    public double getCenterLongitude() {
+        return GeoHashUtils.minLongitude(bits, significantBits) + GeoHashUtils.longitudeSize(significantBits) / 2;
     }
 
     /**
@@ -197,20 +192,12 @@ public final class GeoHash implements Parcelable {
      * N, NE, E, SE, S, SW, W, NW
      */
     public GeoHash[] getAdjacent() {
-        GeoHash northern = getNorthernNeighbour();
-        GeoHash eastern = getEasternNeighbour();
-        GeoHash southern = getSouthernNeighbour();
-        GeoHash western = getWesternNeighbour();
-        return new GeoHash[]{
-                northern,
-                northern.getEasternNeighbour(),
-                eastern,
-                southern.getEasternNeighbour(),
-                southern,
-                southern.getWesternNeighbour(),
-                western,
-                northern.getWesternNeighbour()
-        };
+        long[] adjacent = GeoHashUtils.adjacentLongs(bits, significantBits);
+        GeoHash[] geoHashes = new GeoHash[adjacent.length];
+        for (int i = 0; i < adjacent.length; i++) {
+            geoHashes[i] = new GeoHash(adjacent[i], significantBits);
+        }
+        return geoHashes;
     }
 
     /**
@@ -218,94 +205,109 @@ public final class GeoHash implements Parcelable {
      * NW, N, NE, W, CENTER, E , SW, S, SE
      */
     public GeoHash[] getAdjacentBox() {
-        GeoHash northern = getNorthernNeighbour();
-        GeoHash eastern = getEasternNeighbour();
-        GeoHash southern = getSouthernNeighbour();
-        GeoHash western = getWesternNeighbour();
+        long[] adjacent = GeoHashUtils.adjacentLongs(bits, significantBits);
         return new GeoHash[]{
-                northern.getWesternNeighbour(),
-                northern,
-                northern.getEasternNeighbour(),
-                western,
+                new GeoHash(adjacent[7], significantBits),
+                new GeoHash(adjacent[0], significantBits),
+                new GeoHash(adjacent[1], significantBits),
+                new GeoHash(adjacent[6], significantBits),
                 this,
-                eastern,
-                southern.getWesternNeighbour(),
-                southern,
-                southern.getEasternNeighbour(),
+                new GeoHash(adjacent[2], significantBits),
+                new GeoHash(adjacent[5], significantBits),
+                new GeoHash(adjacent[4], significantBits),
+                new GeoHash(adjacent[3], significantBits),
         };
     }
 
     /**
-     * @return internal Geohashes
+     * @return internal Geohashes, one character finer, or null when they would have more than
+     * {@link #MAX_BIT_PRECISION} bits
      */
     public GeoHash[] getChildHashes() {
-        if (significantBits % BASE32_BITS != 0) {
-            throw new IllegalStateException("Cannot convert a geoHash to base32");
+        int childBits = significantBits + BASE32_BITS;
+        if (childBits > MAX_BIT_PRECISION) {
+            return null;
         }
-        if (significantBits / BASE32_BITS < MAX_CHARACTER_PRECISION) {
-            GeoHash[] geoHashes = new GeoHash[base32.length()];
-            String val = toString();
-            for (int i = 0; i < base32.length(); i++) {
-                geoHashes[i] = GeoHash.fromString(val + base32.toCharArray()[i]);
-            }
-            return geoHashes;
+        return getChildHashes(BASE32_BITS);
+    }
+
+    /**
+     * @param levelBits count of bits added, the children are 2^levelBits
+     * @return internal Geohashes in Z-order
+     */
+    public GeoHash[] getChildHashes(int levelBits) {
+        int childBits = significantBits + levelBits;
+        long[] children = GeoHashUtils.childrenLongs(bits, significantBits, childBits);
+        GeoHash[] geoHashes = new GeoHash[children.length];
+        for (int i = 0; i < children.length; i++) {
+            geoHashes[i] = new GeoHash(children[i], childBits);
         }
-        return null;
+        return geoHashes;
     }
 
     /**
-     * @return external Hash
+     * @return external Hash, one character coarser, or null for a hash of one character or less
      */
     public GeoHash getParentHash() {
-        if (significantBits > 5) {
-            String hash = toString();
-            return GeoHash.fromString(hash.substring(0, hash.length() -1));
+        if (significantBits > BASE32_BITS) {
+            return parent(BASE32_BITS);
         }
         return null;
     }
 
+    /**
+     * @param levelBits count of bits removed, 0..significant bits
+     * @return parent {@link GeoHash}
+     */
+    public GeoHash parent(int levelBits) {
+        return new GeoHash(GeoHashUtils.parent(bits, significantBits, levelBits), significantBits - levelBits);
+    }
+
+    /**
+     * @param significantBits ancestor count of signification bits, at most the hash bits
+     * @return ancestor {@link GeoHash}
+     */
+    public GeoHash ancestorAt(int significantBits) {
+        if (significantBits > this.significantBits) {
+            throw new IllegalArgumentException("An ancestor can only have 0.." + this.significantBits + " significant bits.");
+        }
+        return new GeoHash(GeoHashUtils.ancestorAt(bits, significantBits), significantBits);
+    }
+
+    /**
+     * @param other {@link GeoHash}
+     * @return this hash is coarser and contains other
+     */
+    public boolean isAncestorOf(GeoHash other) {
+        return GeoHashUtils.isAncestorOf(bits, significantBits, other.bits, other.significantBits);
+    }
+
     /**
      * @return N adjacent hash
      */
     public GeoHash getNorthernNeighbour() {
-        long[] latitudeBits = getRightAlignedLatitudeBits();
-        long[] longitudeBits = getRightAlignedLongitudeBits();
-        latitudeBits[0] += 1;
-        latitudeBits[0] = maskLastNBits(latitudeBits[0], latitudeBits[1]);
-        return recombineLatLonBitsToHash(latitudeBits, longitudeBits);
+        return new GeoHash(GeoHashUtils.northernNeighbour(bits, significantBits), significantBits);
     }
 
     /**
      * @return S adjacent hash
      */
     public GeoHash getSouthernNeighbour() {
-        long[] latitudeBits = getRightAlignedLatitudeBits();
-        long[] longitudeBits = getRightAlignedLongitudeBits();
-        latitudeBits[0] -= 1;
-        latitudeBits[0] = maskLastNBits(latitudeBits[0], latitudeBits[1]);
-        return recombineLatLonBitsToHash(latitudeBits, longitudeBits);
+        return new GeoHash(GeoHashUtils.southernNeighbour(bits, significantBits), significantBits);
     }
 
     /**
      * @return E adjacent hash
      */
     public GeoHash getEasternNeighbour() {
-        long[] latitudeBits = getRightAlignedLatitudeBits();
-        long[] longitudeBits = getRightAlignedLongitudeBits();
-        longitudeBits[0] += 1;
-        longitudeBits[0] = maskLastNBits(longitudeBits[0], longitudeBits[1]);
-        return recombineLatLonBitsToHash(latitudeBits, longitudeBits);
+        return new GeoHash(GeoHashUtils.easternNeighbour(bits, significantBits), significantBits);
     }
 
     /**
      * @return W adjacent hash
      */
     public GeoHash getWesternNeighbour() {
-        long[] latitudeBits = getRightAlignedLatitudeBits();
-        long[] longitudeBits = getRightAlignedLongitudeBits();
-        longitudeBits[0] -= 1;
-        longitudeBits[0] = maskLastNBits(longitudeBits[0], longitudeBits[1]);
-        return recombineLatLonBitsToHash(latitudeBits, longitudeBits);
+        return new GeoHash(GeoHashUtils.westernNeighbour(bits, significantBits), significantBits);
     }
 
     /**
@@ -322,23 +324,57 @@ public final class GeoHash implements Parcelable {
         return bits;
     }
 
-    @Override
-    public String toString() {
-        if (significantBits % BASE32_BITS != 0) {
-            throw new IllegalStateException("Cannot convert a geoHash to base32");
-        }
-        StringBuilder buf = new StringBuilder();
+    /**
+     * @return single long id carrying the bits and the precision, for up to 63 significant bits
+     */
+    public long toCellId() {
+        return GeoHashCellId.fromBits(bits, significantBits);
+    }
 
-        long firstFiveBitsMask = 0xf800000000000000L;
-        long bitsCopy = bits;
-        int partialChunks = (int) Math.ceil(((double) significantBits / BASE32_BITS));
+    /**
+     * @param dst destination builder
+     * @return dst with the base32 geohash appended, without allocating
+     */
+    public StringBuilder appendTo(StringBuilder dst) {
+        return GeoHashUtils.appendBase32(bits, significantBits, dst);
+    }
+
+    /**
+     * @param dst destination appendable
+     * @return dst with the base32 geohash appended, without allocating
+     * @throws IOException if dst throws it
+     */
+    public Appendable appendTo(Appendable dst) throws IOException {
+        return GeoHashUtils.appendBase32(bits, significantBits, dst);
+    }
 
-        for (int i = 0; i < partialChunks; i++) {
-            int pointer = (int) ((bitsCopy & firstFiveBitsMask) >>> 59);
-            buf.append(base32.charAt(pointer));
-            bitsCopy <<= BASE32_BITS;
+    /**
+     * @param dst destination array
+     * @param offset first index in dst
+     * @return count of base32 geohash ASCII bytes written
+     */
+    public int writeAscii(byte[] dst, int offset) {
+        return GeoHashUtils.writeBase32(bits, significantBits, dst, offset);
+    }
+
+    /**
+     * @param dst destination buffer, its position moved past the written bytes
+     * @return count of base32 geohash ASCII bytes written
+     */
+    public int writeTo(ByteBuffer dst) {
+        return GeoHashUtils.writeBase32(bits, significantBits, dst);
+    }
+
+    /**
+     * @return base32 geohash, computed on first call. Precisions which are not whole characters
+     * end with ':' and the remaining bits, see {@link GeoHashUtils#toBase32(long, int)}.
+     */
+    @Override
+    public String toString() {
+        if (string == null) {
+            string = GeoHashUtils.toBase32(bits, significantBits);
         }
-        return buf.toString();
+        return string;
     }
 
     @Override
@@ -352,6 +388,11 @@ public final class GeoHash implements Parcelable {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return GeoHashUtils.hashCode(bits, significantBits);
+    }
+
     /**
      * Private metods ----------------------------------------------------
      */
@@ -360,63 +401,13 @@ public final class GeoHash implements Parcelable {
         return fromLongValue(ord << MAX_BIT_PRECISION - significantBits, significantBits);
     }
 
-    private static void setBoundingBox(GeoHash hash, double[] latitudeRange, double[] longitudeRange) {
-        hash.boundingBox = new BoundingBox(
-                LocationExt.newLocation(latitudeRange[0], longitudeRange[0]),
-                LocationExt.newLocation(latitudeRange[1], longitudeRange[1])
-        );
-    }
-
-    private static void divideRangeDecode(GeoHash hash, double[] range, boolean b) {
-        double mid = (range[0] + range[1]) / 2;
-        if (b) {
-            hash.addOnBitToEnd();
-            range[0] = mid;
-        } else {
-            hash.addOffBitToEnd();
-            range[1] = mid;
-        }
-    }
-
     private GeoHash(double latitude, double longitude, int desiredPrecision) {
-        desiredPrecision = Math.min(desiredPrecision, MAX_BIT_PRECISION);
-        boolean isEvenBit = true;
-        double[] latitudeRange = {-LATITUDE_MAX_ABS, LATITUDE_MAX_ABS};
-        double[] longitudeRange = {-LONGITUDE_MAX_ABS, LONGITUDE_MAX_ABS};
-
-        while (significantBits < desiredPrecision) {
-            if (isEvenBit) {
-                divideRangeEncode(longitude, longitudeRange);
-            } else {
-                divideRangeEncode(latitude, latitudeRange);
-            }
-            isEvenBit = !isEvenBit;
-        }
-
-        setBoundingBox(this, latitudeRange, longitudeRange);
-        bits <<= (MAX_BIT_PRECISION - desiredPrecision);
-    }
-
-    private void divideRangeEncode(double value, double[] range) {
-        double mid = (range[0] + range[1]) / 2;
-        if (value >= mid) {
-            addOnBitToEnd();
-            range[0] = mid;
-        } else {
-            addOffBitToEnd();
-            range[1] = mid;
-        }
-    }
-
-    private void addOnBitToEnd() {
-        significantBits++;
-        bits <<= 1;
-        bits = bits | 0x1;
+        this(GeoHashUtils.encode(latitude, longitude, desiredPrecision), desiredPrecision);
     }
 
-    private void addOffBitToEnd() {
-        significantBits++;
-        bits <<= 1;
+    private GeoHash(long bits, int significantBits) {
+        this.bits = bits;
+        this.significantBits = (byte) significantBits;
     }
 
     private long ord() {
@@ -424,68 +415,6 @@ public final class GeoHash implements Parcelable {
         return bits >>> insignificantBits;
     }
 
-    private long[] getRightAlignedLatitudeBits() {
-        long copyOfBits = bits << 1;
-        long value = extractEverySecondBit(copyOfBits, getNumberOfLatLonBits()[0]);
-        return new long[]{value, getNumberOfLatLonBits()[0]};
-    }
-
-    private long[] getRightAlignedLongitudeBits() {
-        long copyOfBits = bits;
-        long value = extractEverySecondBit(copyOfBits, getNumberOfLatLonBits()[1]);
-        return new long[]{value, getNumberOfLatLonBits()[1]};
-    }
-
-    private long extractEverySecondBit(long copyOfBits, int numberOfBits) {
-        long value = 0;
-        for (int i = 0; i < numberOfBits; i++) {
-            if ((copyOfBits & FIRST_BIT_FLAGGED) == FIRST_BIT_FLAGGED) {
-                value |= 0x1;
-            }
-            value <<= 1;
-            copyOfBits <<= 2;
-        }
-        value >>>= 1;
-        return value;
-    }
-
-    private int[] getNumberOfLatLonBits() {
-        if (significantBits % 2 == 0) {
-            return new int[]{significantBits / 2, significantBits / 2};
-        } else {
-            return new int[]{significantBits / 2, significantBits / 2 + 1};
-        }
-    }
-
-    private long maskLastNBits(long value, long n) {
-        long mask = 0xffffffffffffffffL;
-        mask >>>= (MAX_BIT_PRECISION - n);
-        return value & mask;
-    }
-
-    private GeoHash recombineLatLonBitsToHash(long[] latBits, long[] lonBits) {
-        GeoHash hash = new GeoHash();
-        boolean isEvenBit = false;
-        latBits[0] <<= (MAX_BIT_PRECISION - latBits[1]);
-        lonBits[0] <<= (MAX_BIT_PRECISION - lonBits[1]);
-        double[] latitudeRange = {-LATITUDE_MAX_ABS, LATITUDE_MAX_ABS};
-        double[] longitudeRange = {-LONGITUDE_MAX_ABS, LONGITUDE_MAX_ABS};
-
-        for (int i = 0; i < latBits[1] + lonBits[1]; i++) {
-            if (isEvenBit) {
-                divideRangeDecode(hash, latitudeRange, (latBits[0] & FIRST_BIT_FLAGGED) == FIRST_BIT_FLAGGED);
-                latBits[0] <<= 1;
-            } else {
-                divideRangeDecode(hash, longitudeRange, (lonBits[0] & FIRST_BIT_FLAGGED) == FIRST_BIT_FLAGGED);
-                lonBits[0] <<= 1;
-            }
-            isEvenBit = !isEvenBit;
-        }
-        hash.bits <<= (MAX_BIT_PRECISION - hash.significantBits);
-        setBoundingBox(hash, latitudeRange, longitudeRange);
-        return hash;
-    }
-
     @Override
     public int describeContents() {
         return 0;
@@ -495,7 +424,6 @@ public final class GeoHash implements Parcelable {
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeLong(bits);
         dest.writeByte(significantBits);
-        dest.writeParcelable(boundingBox, flags);
     }
 
     public static final Creator<GeoHash> CREATOR = new Creator<GeoHash>() {
@@ -0,0 +1,79 @@
+package com.fonfon.geohash;
+
+import android.os.Parcel;
+
+/**
+ * {@link BoundingBox} which can be refilled, to walk many hashes without allocating a box per hash.
+ * <p>
+ * It keeps the value based {@link #equals(Object)} and {@link #hashCode()} of {@link BoundingBox},
+ * so its hash code changes with its bounds: a box used as a hash map key or a hash set element
+ * must not be refilled while it is in the map or set, else it is lost there.
+ */
+public class MutableBoundingBox extends BoundingBox {
+
+    public MutableBoundingBox() {
+        super(0, 0, 0, 0);
+    }
+
+    protected MutableBoundingBox(Parcel in) {
+        super(in);
+    }
+
+    /**
+     * Set box bounds from
+     *
+     * @param y1 first latitude
+     * @param y2 second latitude
+     * @param x1 first longitude
+     * @param x2 second longitude
+     * @return this box
+     */
+    public MutableBoundingBox set(double y1, double y2, double x1, double x2) {
+        minLongitude = Math.min(x1, x2);
+        maxLongitude = Math.max(x1, x2);
+        minLatitude = Math.min(y1, y2);
+        maxLatitude = Math.max(y1, y2);
+        return this;
+    }
+
+    /**
+     * Set box bounds from
+     *
+     * @param box other {@link BoundingBox}
+     * @return this box
+     */
+    public MutableBoundingBox set(BoundingBox box) {
+        minLatitude = box.minLatitude;
+        maxLatitude = box.maxLatitude;
+        minLongitude = box.minLongitude;
+        maxLongitude = box.maxLongitude;
+        return this;
+    }
+
+    /**
+     * Set box bounds from
+     *
+     * @param bits hash bits, same as {@link GeoHash#toLong()}
+     * @param significantBits count of signification bits
+     * @return this box
+     */
+    public MutableBoundingBox setHash(long bits, int significantBits) {
+        minLatitude = GeoHashUtils.minLatitude(bits, significantBits);
+        maxLatitude = minLatitude + GeoHashUtils.latitudeSize(significantBits);
+        minLongitude = GeoHashUtils.minLongitude(bits, significantBits);
+        maxLongitude = minLongitude + GeoHashUtils.longitudeSize(significantBits);
+        return this;
+    }
+
+    public static final Creator<MutableBoundingBox> CREATOR = new Creator<MutableBoundingBox>() {
+        @Override
+        public MutableBoundingBox createFromParcel(Parcel in) {
+            return new MutableBoundingBox(in);
+        }
+
+        @Override
+        public MutableBoundingBox[] newArray(int size) {
+            return new MutableBoundingBox[size];
+        }
+    };
+}
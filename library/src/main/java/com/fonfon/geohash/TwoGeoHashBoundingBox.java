@@ -71,9 +71,11 @@ public class TwoGeoHashBoundingBox {
         this.topLeftHash = topLeftHash;
         this.bottomRightHash = bottomRightHash;
 
+        BoundingBox topLeft = topLeftHash.getBoundingBox();
+        BoundingBox bottomRight = bottomRightHash.getBoundingBox();
         this.boundingBox = new BoundingBox(
-                topLeftHash.getBoundingBox().getTopLeft(),
-                bottomRightHash.getBoundingBox().getBottomRight());
+                topLeft.getMaxLatitude(), bottomRight.getMinLatitude(),
+                topLeft.getMinLongitude(), bottomRight.getMaxLongitude());
     }
 
     /**
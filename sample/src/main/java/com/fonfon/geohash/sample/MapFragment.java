@@ -12,15 +12,19 @@ import android.view.ViewGroup;
 import android.widget.GridLayout;
 
 import com.fonfon.geohash.GeoHash;
+import com.fonfon.geohash.GeoHashSizes;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.MapView;
 import com.google.android.gms.maps.MapsInitializer;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.PolygonOptions;
 
 public class MapFragment extends Fragment implements OnMapReadyCallback, GoogleMap.OnMapClickListener {
 
+    private static final int VIEWPORT_CELLS = 64;
+
     private MapView mapView;
     private GoogleMap map;
 
@@ -119,9 +123,11 @@ public class MapFragment extends Fragment implements OnMapReadyCallback, GoogleM
 
     @Override
     public void onMapClick(LatLng latLng) {
-        int zoom = (int) ((map.getCameraPosition().zoom / map.getMaxZoomLevel()) * GeoHash.MAX_CHARACTER_PRECISION) - 2;
-        zoom = zoom > 0 ? zoom : 1;
-        geoHash = GeoHash.fromLocation(latLngToLocation(latLng), zoom);
+        LatLngBounds bounds = map.getProjection().getVisibleRegion().latLngBounds;
+        int significantBits = GeoHashSizes.precisionForViewport(bounds.southwest.latitude, bounds.northeast.latitude,
+                bounds.southwest.longitude, bounds.northeast.longitude, VIEWPORT_CELLS);
+        int numberOfCharacters = Math.min(significantBits / GeoHash.BASE32_BITS, GeoHash.MAX_CHARACTER_PRECISION);
+        geoHash = GeoHash.fromLocation(latLngToLocation(latLng), Math.max(numberOfCharacters, 1));
         updateGeohash();
     }
 